@@ -0,0 +1,66 @@
+package org.acme.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.acme.model.WarmupStatus;
+import org.acme.services.CacheWarmupService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Chequeo de readiness que, si está habilitado, mantiene el servicio fuera
+ * de balanceo hasta que el precargue de la caché termina bien. Un precargue
+ * fallido deja el servicio fuera hasta que se relance desde administración;
+ * sin precargue al arranque no hay nada que esperar.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@Readiness
+@ApplicationScoped
+public class CacheWarmupReadinessCheck implements HealthCheck {
+
+    private static final String IDLE = "IDLE";
+    private static final String COMPLETED = "COMPLETED";
+
+    private final CacheWarmupService warmupService;
+    private final boolean gate;
+    private final boolean onStart;
+
+    @Inject
+    public CacheWarmupReadinessCheck(CacheWarmupService warmupService,
+            @ConfigProperty(name = "client.cache.warmup.readiness-gate", defaultValue = "false") boolean gate,
+            @ConfigProperty(name = "client.cache.warmup.on-start", defaultValue = "false") boolean onStart) {
+        this.warmupService = warmupService;
+        this.gate = gate;
+        this.onStart = onStart;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        WarmupStatus status = warmupService.status();
+        HealthCheckResponseBuilder response = HealthCheckResponse.named("client-cache-warmup")
+                .status(!gate || isReady(status.state()))
+                .withData("state", status.state())
+                .withData("rowsLoaded", status.rowsLoaded());
+        if (status.error() != null) {
+            response.withData("error", status.error());
+        }
+        return response.build();
+    }
+
+    /*
+     * @return boolean true si el precargue terminó bien, o si no hay precargue
+     * al arranque y todavía no se ha lanzado ninguno.
+     * @param state El estado actual del precargue.
+     *
+     */
+    private boolean isReady(String state) {
+        return COMPLETED.equals(state) || (IDLE.equals(state) && !onStart);
+    }
+}
@@ -0,0 +1,27 @@
+package org.acme.model;
+
+import java.util.List;
+
+/**
+ * Resultado del aprovisionamiento de CLIENT-LIST y de la comparación de su
+ * configuración en el servidor contra la plantilla esperada.
+ * 
+ * @param enabled Si el aprovisionamiento está habilitado.
+ * @param cache El nombre de la caché.
+ * @param template La plantilla versionada usada.
+ * @param created Si la caché fue creada por este servicio al iniciar.
+ * @param drift Las diferencias encontradas, una por atributo.
+ * @param error El mensaje del error del aprovisionamiento o la verificación, si falló.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record CacheConfigReport(
+    boolean enabled,
+    String cache,
+    String template,
+    boolean created,
+    List<String> drift,
+    String error
+) {}
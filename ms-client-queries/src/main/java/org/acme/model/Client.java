@@ -1,9 +1,18 @@
 package org.acme.model;
 
+import java.util.Collection;
+import java.util.List;
+
 import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.reactive.mutiny.Mutiny;
 
 /**
  * Clase que representa la entidad Client para realizar la consulta a la BD.
@@ -14,6 +23,7 @@ import jakarta.persistence.Entity;
  */
 
 @Entity
+@Table(indexes = @Index(name = "client_phone_idx", columnList = "phone"))
 public class Client extends PanacheEntity {
     
     @Column(unique = true)
@@ -31,10 +41,55 @@ public class Client extends PanacheEntity {
     @Column(name = "credit_card")
     public String creditCard;
 
+    /* Versión para control de concurrencia optimista en las actualizaciones. */
+    @Version
+    public long version;
+
     public static Uni<Client> findByDocument(String document) {
         return find("document", document).firstResult();
     }
 
+    /*
+     * Clientes de varios documentos, proyectados en una sesión sin estado.
+     * @return Uni<List<ClientRow>> Los clientes encontrados.
+     * @param session La sesión sin estado.
+     * @param documents Los documentos a buscar.
+     */
+    public static Uni<List<ClientRow>> findRowsByDocuments(Mutiny.StatelessSession session,
+            Collection<String> documents) {
+        return session.createQuery(ClientRow.SELECT + "where c.document in (:documents)", ClientRow.class)
+                .setParameter("documents", documents)
+                .getResultList();
+    }
+
+    /*
+     * Página de clientes posteriores al id dado, ordenada por id (keyset
+     * pagination), proyectada en una sesión sin estado.
+     * @return Uni<List<ClientRow>> Hasta limit clientes con id mayor a lastId.
+     * @param session La sesión sin estado.
+     * @param lastId El último id de la página anterior (0 para la primera).
+     * @param limit El tamaño de la página.
+     */
+    public static Uni<List<ClientRow>> findRowsAfter(Mutiny.StatelessSession session, long lastId, int limit) {
+        return session.createQuery(ClientRow.SELECT + "where c.id > :lastId order by c.id", ClientRow.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /*
+     * Página de documentos posteriores al id dado, ordenada por id (keyset pagination).
+     * @return Uni<List<ClientKey>> Hasta limit claves con id mayor a lastId.
+     * @param lastId El último id de la página anterior (0 para la primera).
+     * @param limit El tamaño de la página.
+     */
+    public static Uni<List<ClientKey>> findKeysAfter(long lastId, int limit) {
+        return find("id > ?1", Sort.by("id"), lastId)
+                .project(ClientKey.class)
+                .page(0, limit)
+                .list();
+    }
+
     public Client() {
     }
 
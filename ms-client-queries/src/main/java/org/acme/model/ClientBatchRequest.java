@@ -0,0 +1,16 @@
+package org.acme.model;
+
+import java.util.List;
+
+/**
+ * Petición de consulta por lote de clientes.
+ * 
+ * @param documents Los documentos de los clientes a consultar.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientBatchRequest(
+    List<String> documents
+) {}
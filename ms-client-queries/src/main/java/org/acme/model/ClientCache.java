@@ -1,9 +1,18 @@
 package org.acme.model;
 
+import org.infinispan.api.annotations.indexing.Basic;
+import org.infinispan.api.annotations.indexing.Indexed;
 import org.infinispan.protostream.annotations.ProtoFactory;
 import org.infinispan.protostream.annotations.ProtoField;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+
+/*
+ * El correo y el teléfono se indexan en RH DataGrid para poder consultar
+ * clientes por esos campos con Ickle.
+ */
+@Indexed
 public class ClientCache {
     
     @ProtoField(number = 1)
@@ -15,9 +24,11 @@ public class ClientCache {
     @ProtoField(number = 3)
     public String name;
     
+    @Basic
     @ProtoField(number = 4)
     public String phone;
 
+    @Basic
     @ProtoField(number = 5)
     public String email;
     
@@ -27,6 +38,14 @@ public class ClientCache {
     @ProtoField(number = 7)
     public String creditCard;
 
+    /*
+     * Versión de la fila en la BD; una entrada nunca se reemplaza por una más
+     * antigua. Solo viaja en el esquema Protobuf, no en las respuestas JSON.
+     */
+    @JsonIgnore
+    @ProtoField(number = 8, defaultValue = "0")
+    public long version;
+
     public ClientCache() {
     }
 
@@ -39,12 +58,13 @@ public class ClientCache {
      * @param email El correo electrónico del cliente.
      * @param address La dirección del cliente.
      * @param creditCard La tarjeta de crédito del cliente. 
+     * @param version La versión de la fila en la BD.
      * 
      * @ProtoFactory Indica a Protobuf que este constructor debe usarse 
      * para crear instancias durante la deserialización.
      */
     @ProtoFactory
-    public ClientCache(String document, String documentType, String name, String phone, String email, String address, String creditCard) {
+    public ClientCache(String document, String documentType, String name, String phone, String email, String address, String creditCard, long version) {
         this.document = document;
         this.documentType = documentType;
         this.name = name;
@@ -52,6 +72,26 @@ public class ClientCache {
         this.email = email;
         this.address = address;
         this.creditCard = creditCard;
+        this.version = version;
+    }
+
+    /*
+     * Convierte una entidad Client a ClientCache para almacenarla en la caché.
+     * @return ClientCache El cliente convertido para caché.
+     * @param client La entidad Client a convertir.
+     *  
+     */
+    public static ClientCache from(Client client) {
+        return new ClientCache(
+                client.document,
+                client.documentType,
+                client.name,
+                client.phone,
+                client.email,
+                client.address,
+                client.creditCard,
+                client.version
+        );
     }
 
     public String getDocument() {
@@ -110,5 +150,14 @@ public class ClientCache {
         this.creditCard = creditCard;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     
 }
@@ -0,0 +1,158 @@
+package org.acme.model;
+
+/**
+ * Entrada de la caché de clientes junto con su metadata de expiración.
+ *
+ * Permite decidir, a partir del tiempo de vida restante, si la entrada debe
+ * refrescarse desde la BD antes de expirar. Opcionalmente guarda la respuesta
+ * HTTP ya serializada para reutilizarla mientras la entrada viva en memoria.
+ * El ETag de la entrada es un hash del contenido del cliente, calculado una
+ * sola vez por entrada.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class ClientCacheEntry {
+
+    /* Valor usado por Infinispan para las entradas inmortales. */
+    public static final long IMMORTAL = -1L;
+
+    private final ClientCache value;
+    private final long created;
+    private final long lifespan;
+
+    /* Creación del snapshot local del que se leyó la entrada, o IMMORTAL si no viene de uno. */
+    private final long snapshotAt;
+
+    /* Cuerpo de la respuesta exitosa serializado a JSON, calculado a demanda. */
+    private volatile byte[] serializedResponse;
+
+    /* Hash del contenido del cliente usado como ETag, calculado a demanda. */
+    private volatile String etag;
+
+    /*
+     * @param value El cliente almacenado.
+     * @param created Momento de creación en milisegundos epoch, o IMMORTAL.
+     * @param lifespan Tiempo de vida en milisegundos, o IMMORTAL.
+     */
+    public ClientCacheEntry(ClientCache value, long created, long lifespan) {
+        this(value, created, lifespan, IMMORTAL);
+    }
+
+    private ClientCacheEntry(ClientCache value, long created, long lifespan, long snapshotAt) {
+        this.value = value;
+        this.created = created;
+        this.lifespan = lifespan;
+        this.snapshotAt = snapshotAt;
+    }
+
+    /*
+     * Entrada para un valor sin metadata de expiración conocida.
+     * @return ClientCacheEntry La entrada inmortal.
+     * @param value El cliente almacenado.
+     */
+    public static ClientCacheEntry of(ClientCache value) {
+        return new ClientCacheEntry(value, IMMORTAL, IMMORTAL);
+    }
+
+    /*
+     * Entrada leída del snapshot local, usada solo en modo degradado.
+     * @return ClientCacheEntry La entrada marcada como proveniente del snapshot.
+     * @param value El cliente almacenado.
+     * @param snapshotAt La creación del snapshot en milisegundos epoch.
+     */
+    public static ClientCacheEntry fromSnapshot(ClientCache value, long snapshotAt) {
+        return new ClientCacheEntry(value, IMMORTAL, IMMORTAL, snapshotAt);
+    }
+
+    public boolean isFromSnapshot() {
+        return snapshotAt != IMMORTAL;
+    }
+
+    public long getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public ClientCache getValue() {
+        return value;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getLifespan() {
+        return lifespan;
+    }
+
+    public byte[] getSerializedResponse() {
+        return serializedResponse;
+    }
+
+    public void setSerializedResponse(byte[] serializedResponse) {
+        this.serializedResponse = serializedResponse;
+    }
+
+    /*
+     * ETag del cliente: hash FNV-1a de 64 bits sobre sus campos. Dos entradas
+     * con el mismo contenido tienen el mismo ETag, sin importar de qué nivel
+     * de caché o de la BD provengan.
+     * @return String El hash en hexadecimal, sin comillas.
+     */
+    public String getETag() {
+        String current = etag;
+        if (current == null) {
+            current = contentHash(value);
+            etag = current;
+        }
+        return current;
+    }
+
+    public boolean isImmortal() {
+        return created < 0 || lifespan <= 0;
+    }
+
+    /*
+     * Momento en que la entrada expira en el grid.
+     * @return long Milisegundos epoch, o Long.MAX_VALUE si es inmortal.
+     */
+    public long expiresAt() {
+        return isImmortal() ? Long.MAX_VALUE : created + lifespan;
+    }
+
+    /*
+     * Tiempo de vida restante de la entrada.
+     * @return long Milisegundos restantes, o Long.MAX_VALUE si es inmortal.
+     * @param now El momento actual en milisegundos epoch.
+     */
+    public long remaining(long now) {
+        return isImmortal() ? Long.MAX_VALUE : Math.max(0L, expiresAt() - now);
+    }
+
+    /*
+     * Indica si a la entrada le queda menos de la fracción dada de su vida.
+     * @return boolean true si la entrada está próxima a expirar.
+     * @param now El momento actual en milisegundos epoch.
+     * @param threshold Fracción del tiempo de vida (0 a 1).
+     */
+    public boolean isExpiringSoon(long now, double threshold) {
+        return !isImmortal() && remaining(now) < lifespan * threshold;
+    }
+
+    private static String contentHash(ClientCache client) {
+        long h = 0xcbf29ce484222325L;
+        for (String field : new String[] { client.document, client.documentType, client.name,
+                client.phone, client.email, client.address, client.creditCard }) {
+            if (field == null) {
+                h = (h ^ 0xff) * 0x100000001b3L;
+                continue;
+            }
+            for (int i = 0; i < field.length(); i++) {
+                h = (h ^ field.charAt(i)) * 0x100000001b3L;
+            }
+            h = (h ^ 0x00) * 0x100000001b3L;
+        }
+        return Long.toHexString(h);
+    }
+}
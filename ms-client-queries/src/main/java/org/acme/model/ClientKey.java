@@ -0,0 +1,17 @@
+package org.acme.model;
+
+/**
+ * Proyección mínima de un cliente usada para recorrer la tabla por páginas
+ * (keyset pagination sobre el id).
+ * 
+ * @param id El id del cliente.
+ * @param document El documento del cliente.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientKey(
+    Long id,
+    String document
+) {}
@@ -0,0 +1,18 @@
+package org.acme.model;
+
+/**
+ * Resultado de la consulta de un documento dentro de una consulta por lote.
+ * 
+ * @param document El documento consultado.
+ * @param found Indica si el cliente fue encontrado.
+ * @param client El cliente encontrado o null si no existe.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientLookup(
+    String document,
+    boolean found,
+    ClientCache client
+) {}
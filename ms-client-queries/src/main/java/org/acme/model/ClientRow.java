@@ -0,0 +1,27 @@
+package org.acme.model;
+
+/**
+ * Proyección de un cliente con su id, usada para recorrer la tabla por
+ * páginas (keyset pagination sobre el id) sin cargar entidades.
+ * 
+ * @param id El id del cliente.
+ * @param client Los datos del cliente, tal como se guardan en la caché.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientRow(
+    Long id,
+    ClientCache client
+) {
+
+    /* Consulta HQL de la proyección; se completa con el filtro y el orden. */
+    public static final String SELECT = "select new org.acme.model.ClientRow(c.id, c.document, c.documentType, "
+            + "c.name, c.phone, c.email, c.address, c.creditCard, c.version) from Client c ";
+
+    public ClientRow(Long id, String document, String documentType, String name, String phone, String email,
+            String address, String creditCard, long version) {
+        this(id, new ClientCache(document, documentType, name, phone, email, address, creditCard, version));
+    }
+}
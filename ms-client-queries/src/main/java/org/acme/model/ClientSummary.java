@@ -0,0 +1,36 @@
+package org.acme.model;
+
+/**
+ * Datos de un cliente que se exponen en los listados masivos (exportación y
+ * búsqueda por nombre). No incluye la tarjeta de crédito ni la versión de la
+ * fila.
+ * 
+ * @param document El documento del cliente.
+ * @param documentType El tipo de documento del cliente.
+ * @param name El nombre del cliente.
+ * @param phone El teléfono del cliente.
+ * @param email El correo electrónico del cliente.
+ * @param address La dirección del cliente.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientSummary(
+    String document,
+    String documentType,
+    String name,
+    String phone,
+    String email,
+    String address
+) {
+
+    /*
+     * @return ClientSummary Los datos expuestos del cliente.
+     * @param client El cliente leído de la BD o de la caché.
+     */
+    public static ClientSummary from(ClientCache client) {
+        return new ClientSummary(client.document, client.documentType, client.name, client.phone, client.email,
+                client.address);
+    }
+}
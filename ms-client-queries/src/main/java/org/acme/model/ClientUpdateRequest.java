@@ -0,0 +1,67 @@
+package org.acme.model;
+
+/**
+ * Petición de actualización de un cliente. El documento no se actualiza:
+ * identifica al cliente en la ruta.
+ * 
+ * @param documentType El tipo de documento del cliente.
+ * @param name El nombre del cliente.
+ * @param phone El teléfono del cliente.
+ * @param email El correo electrónico del cliente.
+ * @param address La dirección del cliente.
+ * @param creditCard La tarjeta de crédito del cliente.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record ClientUpdateRequest(
+    String documentType,
+    String name,
+    String phone,
+    String email,
+    String address,
+    String creditCard
+) {
+
+    /*
+     * @return boolean true si todos los campos vienen informados (PUT).
+     */
+    public boolean isComplete() {
+        return documentType != null && name != null && phone != null
+                && email != null && address != null && creditCard != null;
+    }
+
+    /*
+     * @return boolean true si al menos un campo viene informado (PATCH).
+     */
+    public boolean hasChanges() {
+        return documentType != null || name != null || phone != null
+                || email != null || address != null || creditCard != null;
+    }
+
+    /*
+     * Copia los campos informados a la entidad.
+     * @param client La entidad a actualizar.
+     */
+    public void applyTo(Client client) {
+        if (documentType != null) {
+            client.documentType = documentType;
+        }
+        if (name != null) {
+            client.name = name;
+        }
+        if (phone != null) {
+            client.phone = phone;
+        }
+        if (email != null) {
+            client.email = email;
+        }
+        if (address != null) {
+            client.address = address;
+        }
+        if (creditCard != null) {
+            client.creditCard = creditCard;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.acme.model;
+
+/**
+ * Documento frecuente en las consultas de clientes.
+ * 
+ * @param document El documento consultado.
+ * @param estimate Las consultas estimadas del documento en las ventanas recientes (cota superior).
+ * @param share La fracción estimada del tráfico reciente que corresponde al documento.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record HotKey(
+    String document,
+    long estimate,
+    double share
+) {}
@@ -0,0 +1,24 @@
+package org.acme.model;
+
+import java.util.List;
+
+/**
+ * Reporte de los documentos más consultados, estimados con un sketch count-min.
+ * 
+ * @param enabled Si el seguimiento de documentos frecuentes está habilitado.
+ * @param lookups Las consultas registradas en las ventanas recientes, con decaimiento.
+ * @param windowSeconds La duración de cada ventana; al cerrarla los contadores se reducen a la mitad.
+ * @param maxError El error máximo esperado de cada estimación, en consultas.
+ * @param keys Los documentos más consultados, de mayor a menor.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record HotKeyReport(
+    boolean enabled,
+    long lookups,
+    long windowSeconds,
+    long maxError,
+    List<HotKey> keys
+) {}
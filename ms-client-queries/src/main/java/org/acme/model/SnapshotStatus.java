@@ -0,0 +1,26 @@
+package org.acme.model;
+
+/**
+ * Estado de la copia local (snapshot) de la caché de clientes.
+ * 
+ * @param enabled Si el snapshot está habilitado.
+ * @param entries El número de clientes en el snapshot vigente.
+ * @param bytes El tamaño del archivo vigente.
+ * @param createdAt El momento de creación del snapshot vigente, en milisegundos epoch (0 si no hay).
+ * @param ageSeconds La antigüedad del snapshot vigente, en segundos (-1 si no hay).
+ * @param refreshing Si hay una regeneración en curso.
+ * @param error El mensaje del error de la última regeneración, si falló.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record SnapshotStatus(
+    boolean enabled,
+    long entries,
+    long bytes,
+    long createdAt,
+    long ageSeconds,
+    boolean refreshing,
+    String error
+) {}
@@ -0,0 +1,22 @@
+package org.acme.model;
+
+/**
+ * Estado del precargue de la caché de clientes.
+ * 
+ * @param state El estado actual: IDLE, RUNNING, COMPLETED o FAILED.
+ * @param rowsLoaded Las filas cargadas en la caché hasta ahora.
+ * @param elapsedMillis El tiempo transcurrido desde el inicio, en milisegundos.
+ * @param rowsPerSecond La velocidad promedio de carga.
+ * @param error El mensaje del error si el precargue falló.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public record WarmupStatus(
+    String state,
+    long rowsLoaded,
+    long elapsedMillis,
+    double rowsPerSecond,
+    String error
+) {}
@@ -0,0 +1,90 @@
+package org.acme.resource;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Interfaz que define los endpoints REST de administración de las cachés
+ * del servicio de consulta de clientes.
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@Path("/api/v1/admin")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface AdminResource {
+
+    /*
+     * Endpoint para reconstruir en segundo plano el filtro de Bloom de documentos.
+     * @return Uni<Response> 202 si la reconstrucción inició, 409 si ya hay una en curso.
+     * 
+     */
+    @POST
+    @Path("/bloom/rebuild")
+    Uni<Response> rebuildDocumentFilter();
+
+    /*
+     * Endpoint para iniciar el precargue de la caché desde la BD.
+     * @return Uni<Response> 202 si el precargue inició, 409 si ya hay uno en curso.
+     * 
+     */
+    @POST
+    @Path("/cache/warmup")
+    Uni<Response> startWarmup();
+
+    /*
+     * Endpoint para consultar el progreso del precargue de la caché.
+     * @return Uni<Response> Respuesta HTTP con el estado, las filas cargadas y las filas por segundo.
+     * 
+     */
+    @GET
+    @Path("/cache/warmup")
+    Uni<Response> getWarmupStatus();
+
+    /*
+     * Endpoint para consultar el resultado del aprovisionamiento de CLIENT-LIST
+     * y las diferencias de su configuración contra la plantilla.
+     * @return Uni<Response> Respuesta HTTP con el reporte de configuración.
+     * 
+     */
+    @GET
+    @Path("/cache/config")
+    Uni<Response> getCacheConfigReport();
+
+    /*
+     * Endpoint para regenerar en segundo plano el snapshot local de clientes.
+     * @return Uni<Response> 202 si la regeneración inició, 409 si ya hay una en curso.
+     * 
+     */
+    @POST
+    @Path("/snapshot/refresh")
+    Uni<Response> refreshSnapshot();
+
+    /*
+     * Endpoint para consultar el tamaño y la antigüedad del snapshot local.
+     * @return Uni<Response> Respuesta HTTP con el estado del snapshot.
+     * 
+     */
+    @GET
+    @Path("/snapshot")
+    Uni<Response> getSnapshotStatus();
+
+    /*
+     * Endpoint para consultar los documentos más consultados en las ventanas recientes.
+     * @return Uni<Response> Respuesta HTTP con los documentos y su tráfico estimado.
+     * @param limit El número máximo de documentos a devolver.
+     * 
+     */
+    @GET
+    @Path("/hotkeys")
+    Uni<Response> getHotKeys(@QueryParam("limit") @DefaultValue("20") int limit);
+}
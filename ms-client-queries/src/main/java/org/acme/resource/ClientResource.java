@@ -1,11 +1,26 @@
 package org.acme.resource;
 
+import org.acme.model.ClientBatchRequest;
+import org.acme.model.ClientSummary;
+import org.acme.model.ClientUpdateRequest;
+
+import org.jboss.resteasy.reactive.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -21,12 +36,95 @@ import jakarta.ws.rs.core.Response;
 public interface ClientResource {
 
     /*
-     * Endpoint para obtener un cliente por su documento.
+     * Endpoint para buscar clientes por nombre, total o parcial, con tolerancia
+     * a errores de escritura. Los resultados se ordenan por similitud.
+     * @return Uni<Response> Respuesta HTTP con la página de clientes encontrados, sin tarjeta de crédito.
+     * @param name El texto a buscar (mínimo 3 caracteres).
+     * @param page El número de página, desde 0 (máximo client.search.max-page).
+     * @param size El tamaño de la página.
+     * 
+     */
+    @GET
+    @Path("/search")
+    Uni<Response> searchClients(@QueryParam("name") String name,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size);
+
+    /*
+     * Endpoint para exportar todos los clientes como NDJSON (un cliente por
+     * línea), respetando la contrapresión de la conexión HTTP. Las líneas no
+     * incluyen la tarjeta de crédito.
+     * @return Multi<ClientSummary> El flujo de clientes en orden de id.
+     * 
+     */
+    @GET
+    @Path("/export")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    Multi<ClientSummary> exportClients();
+
+    /*
+     * Endpoint para obtener un cliente por su documento. Responde 304 sin
+     * cuerpo si el ETag enviado en If-None-Match coincide con el actual.
      * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
      * @param document El documento del cliente a buscar.
+     * @param ifNoneMatch Los ETags que el llamador ya tiene, si los hay.
      * 
      */
     @GET
     @Path("/{document}")
-    Uni<Response> getClientByDocument(@PathParam("document") String document);
+    Uni<Response> getClientByDocument(@PathParam("document") String document,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch);
+
+    /*
+     * Endpoint para obtener varios clientes por sus documentos en una sola llamada.
+     * @return Uni<Response> Respuesta HTTP con el resultado por documento (encontrado / no encontrado).
+     * @param request Los documentos de los clientes a buscar.
+     * 
+     */
+    @POST
+    @Path("/batch")
+    Uni<Response> getClientsByDocuments(ClientBatchRequest request);
+
+    /*
+     * Endpoint para reemplazar los datos de un cliente. Todos los campos son obligatorios.
+     * @return Uni<Response> Respuesta HTTP con el cliente actualizado o error.
+     * @param document El documento del cliente a actualizar.
+     * @param request Los nuevos datos del cliente.
+     * 
+     */
+    @PUT
+    @Path("/{document}")
+    Uni<Response> updateClient(@PathParam("document") String document, ClientUpdateRequest request);
+
+    /*
+     * Endpoint para actualizar parcialmente un cliente. Solo se actualizan los campos enviados.
+     * @return Uni<Response> Respuesta HTTP con el cliente actualizado o error.
+     * @param document El documento del cliente a actualizar.
+     * @param request Los campos a actualizar.
+     * 
+     */
+    @PATCH
+    @Path("/{document}")
+    Uni<Response> patchClient(@PathParam("document") String document, ClientUpdateRequest request);
+
+    /*
+     * Endpoint para obtener un cliente por su correo electrónico.
+     * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
+     * @param email El correo del cliente a buscar.
+     * 
+     */
+    @GET
+    @Path("/email/{email}")
+    Uni<Response> getClientByEmail(@PathParam("email") String email);
+
+    /*
+     * Endpoint para obtener un cliente por su teléfono.
+     * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
+     * @param phone El teléfono del cliente a buscar.
+     * 
+     */
+    @GET
+    @Path("/phone/{phone}")
+    Uni<Response> getClientByPhone(@PathParam("phone") String phone);
 }
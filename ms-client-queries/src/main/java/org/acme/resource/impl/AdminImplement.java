@@ -0,0 +1,130 @@
+package org.acme.resource.impl;
+
+import org.acme.resource.AdminResource;
+import org.acme.services.CacheProvisioningService;
+import org.acme.services.CacheWarmupService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.HotKeyService;
+import org.acme.services.SnapshotService;
+import org.acme.utils.CustomResource;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+import static org.acme.utils.constants.Constants.ACCEPTED;
+import static org.acme.utils.constants.Constants.BAD_REQUEST;
+import static org.acme.utils.constants.Constants.CONFLICT;
+import static org.acme.utils.constants.Constants.OK;
+
+/**
+ * Clase que implementa los endpoints REST de administración de las cachés.
+ * 
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class AdminImplement extends CustomResource implements AdminResource {
+
+    private final DocumentFilterService documentFilterService;
+    private final CacheWarmupService cacheWarmupService;
+    private final SnapshotService snapshotService;
+    private final CacheProvisioningService cacheProvisioningService;
+    private final HotKeyService hotKeyService;
+
+    @Inject
+	public AdminImplement(DocumentFilterService documentFilterService, CacheWarmupService cacheWarmupService,
+			SnapshotService snapshotService, CacheProvisioningService cacheProvisioningService,
+			HotKeyService hotKeyService) {
+		this.documentFilterService = documentFilterService;
+		this.cacheWarmupService = cacheWarmupService;
+		this.snapshotService = snapshotService;
+		this.cacheProvisioningService = cacheProvisioningService;
+		this.hotKeyService = hotKeyService;
+	}
+
+	/*
+	 * Endpoint para reconstruir en segundo plano el filtro de Bloom de documentos.
+	 * @return Uni<Response> 202 si la reconstrucción inició, 409 si ya hay una en curso.
+	 * 
+	 */
+	@Override
+	public Uni<Response> rebuildDocumentFilter() {
+		return Uni.createFrom().item(documentFilterService.rebuild()
+				? response(ACCEPTED, "Reconstrucción del filtro de documentos iniciada")
+				: response(CONFLICT, "El filtro está deshabilitado o ya hay una reconstrucción en curso"));
+	}
+
+	/*
+	 * Endpoint para iniciar el precargue de la caché desde la BD.
+	 * @return Uni<Response> 202 si el precargue inició, 409 si ya hay uno en curso.
+	 * 
+	 */
+	@Override
+	public Uni<Response> startWarmup() {
+		return Uni.createFrom().item(cacheWarmupService.start()
+				? response(ACCEPTED, "Precargue de la caché iniciado")
+				: response(CONFLICT, "Ya hay un precargue de la caché en curso"));
+	}
+
+	/*
+	 * Endpoint para consultar el progreso del precargue de la caché.
+	 * @return Uni<Response> Respuesta HTTP con el estado del precargue.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getWarmupStatus() {
+		return Uni.createFrom().item(cacheWarmupService.status())
+				.map(reactiveSuccessResponse(OK, "Estado del precargue consultado exitosamente"));
+	}
+
+	/*
+	 * Endpoint para consultar el resultado del aprovisionamiento de CLIENT-LIST.
+	 * @return Uni<Response> Respuesta HTTP con el reporte de configuración.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getCacheConfigReport() {
+		return Uni.createFrom().item(cacheProvisioningService.report())
+				.map(reactiveSuccessResponse(OK, "Configuración de la caché consultada exitosamente"));
+	}
+
+	/*
+	 * Endpoint para regenerar en segundo plano el snapshot local de clientes.
+	 * @return Uni<Response> 202 si la regeneración inició, 409 si ya hay una en curso.
+	 * 
+	 */
+	@Override
+	public Uni<Response> refreshSnapshot() {
+		return Uni.createFrom().item(snapshotService.refresh()
+				? response(ACCEPTED, "Regeneración del snapshot iniciada")
+				: response(CONFLICT, "El snapshot está deshabilitado o ya hay una regeneración en curso"));
+	}
+
+	/*
+	 * Endpoint para consultar el tamaño y la antigüedad del snapshot local.
+	 * @return Uni<Response> Respuesta HTTP con el estado del snapshot.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getSnapshotStatus() {
+		return Uni.createFrom().item(snapshotService.status())
+				.map(reactiveSuccessResponse(OK, "Estado del snapshot consultado exitosamente"));
+	}
+
+	/*
+	 * Endpoint para consultar los documentos más consultados en las ventanas recientes.
+	 * @return Uni<Response> Respuesta HTTP con los documentos y su tráfico estimado.
+	 * @param limit El número máximo de documentos a devolver.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getHotKeys(int limit) {
+		if (limit < 1) {
+			return Uni.createFrom().item(response(BAD_REQUEST, "El límite debe ser mayor a cero"));
+		}
+		return Uni.createFrom().item(hotKeyService.report(limit))
+				.map(reactiveSuccessResponse(OK, "Documentos más consultados obtenidos exitosamente"));
+	}
+
+}
@@ -1,47 +1,356 @@
 package org.acme.resource.impl;
 
+import java.util.Optional;
+
+import org.acme.model.ClientBatchRequest;
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.ClientSummary;
+import org.acme.model.ClientUpdateRequest;
 import org.acme.resource.ClientResource;
+import org.acme.services.ClientExportService;
+import org.acme.services.ClientSearchService;
 import org.acme.services.ClientService;
+import org.acme.services.HotKeyService;
 import org.acme.utils.CustomResource;
+import org.acme.utils.StageTimer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.StaleStateException;
+import org.jboss.logging.Logger;
+import org.hibernate.exception.ConstraintViolationException;
+
+import static org.acme.utils.constants.Constants.BAD_REQUEST;
+import static org.acme.utils.constants.Constants.CONFLICT;
 import static org.acme.utils.constants.Constants.OK;
 import static org.acme.utils.constants.Constants.NOT_FOUND;
 
 /**
  * Clase que implementa los endpoints REST para la gestión de clientes.
  * 
+ * Con la respuesta pre-serializada habilitada, el cuerpo JSON de una consulta
+ * exitosa se guarda en la entrada de la caché y se escribe tal cual en las
+ * siguientes consultas, sin volver a pasar por Jackson. Solo aplica cuando la
+ * misma entrada sobrevive entre consultas (near cache del backend remoto o
+ * backend local); en otro caso se ignora con una advertencia al iniciar.
+ * 
+ * Las consultas por documento devuelven un ETag con el hash del contenido del
+ * cliente; si el llamador envía el mismo valor en If-None-Match se responde
+ * 304 sin serializar ni transferir el cuerpo.
+ * 
+ * Las respuestas servidas desde el snapshot local (modo degradado) llevan el
+ * encabezado X-Client-Source: snapshot y la antigüedad del snapshot en
+ * segundos en X-Client-Snapshot-Age.
+ * 
+ * Cada consulta por documento se registra en el seguimiento de documentos
+ * frecuentes antes de resolverse.
+ * 
  * @author Felipe Malaver
  * @since 2025-12-09
- * @version 1.0
+ * @version 1.1
  */
 public class ClientImplement extends CustomResource implements ClientResource {
 
+    private static final Logger LOG = Logger.getLogger(ClientImplement.class);
+
+    private static final String CLIENT_FOUND = "Cliente consultado exitosamente";
+    private static final String SOURCE_HEADER = "X-Client-Source";
+    private static final String SNAPSHOT_AGE_HEADER = "X-Client-Snapshot-Age";
+    private static final String CLIENT_NOT_FOUND = "El cliente no fue encontrado o no existe";
+    private static final String CLIENT_UPDATED = "Cliente actualizado exitosamente";
+    private static final String CLIENT_CONFLICT = "El cliente fue modificado concurrentemente o los datos entran en conflicto con otro cliente";
+
     private final ClientService clientService;
+    private final ClientExportService clientExportService;
+    private final ClientSearchService clientSearchService;
+    private final HotKeyService hotKeyService;
+    private final ObjectMapper objectMapper;
+
+    private final int batchMaxSize;
+    private final boolean preSerialized;
+    private final int searchMinLength;
+    private final int searchMaxSize;
+    private final int searchMaxPage;
+
+    private final StageTimer responseTimer;
 
     @Inject
-	public ClientImplement(ClientService clientService) {
+	public ClientImplement(ClientService clientService, ClientExportService clientExportService,
+			ClientSearchService clientSearchService, HotKeyService hotKeyService, ObjectMapper objectMapper,
+			MeterRegistry registry,
+			@ConfigProperty(name = "client.batch.max-size", defaultValue = "500") int batchMaxSize,
+			@ConfigProperty(name = "client.response.pre-serialized", defaultValue = "false") boolean preSerialized,
+			@ConfigProperty(name = "client.cache.backend", defaultValue = "remote") String backend,
+			@ConfigProperty(name = "client.cache.near.enabled", defaultValue = "false") boolean nearEnabled,
+			@ConfigProperty(name = "client.search.min-length", defaultValue = "3") int searchMinLength,
+			@ConfigProperty(name = "client.search.max-size", defaultValue = "100") int searchMaxSize,
+			@ConfigProperty(name = "client.search.max-page", defaultValue = "1000") int searchMaxPage) {
 		this.clientService = clientService;
+		this.clientExportService = clientExportService;
+		this.clientSearchService = clientSearchService;
+		this.hotKeyService = hotKeyService;
+		this.objectMapper = objectMapper;
+		this.batchMaxSize = batchMaxSize;
+		boolean entriesRetained = "local".equalsIgnoreCase(backend)
+				|| ("remote".equalsIgnoreCase(backend) && nearEnabled);
+		if (preSerialized && !entriesRetained) {
+			LOG.warn("client.response.pre-serialized requiere el near cache (client.cache.near.enabled) "
+					+ "o el backend local: cada consulta crea una entrada nueva y los bytes se descartarían. "
+					+ "Se responde sin pre-serializar");
+		}
+		this.preSerialized = preSerialized && entriesRetained;
+		this.searchMinLength = searchMinLength;
+		this.searchMaxSize = searchMaxSize;
+		this.searchMaxPage = searchMaxPage;
+		this.responseTimer = new StageTimer(registry, "client.lookup.stage", "response.build");
+	}
+
+	/*
+	 * Endpoint para buscar clientes por nombre.
+	 * @return Uni<Response> Respuesta HTTP con la página de clientes encontrados.
+	 * @param name El texto a buscar.
+	 * @param page El número de página, desde 0.
+	 * @param size El tamaño de la página.
+	 * 
+	 */
+	@Override
+	public Uni<Response> searchClients(String name, int page, int size) {
+		if (name == null || name.trim().length() < searchMinLength) {
+			return Uni.createFrom().item(response(BAD_REQUEST,
+					"El nombre a buscar debe tener al menos " + searchMinLength + " caracteres"));
+		}
+		if (page < 0 || page > searchMaxPage || size < 1 || size > searchMaxSize) {
+			return Uni.createFrom().item(response(BAD_REQUEST,
+					"La página debe estar entre 0 y " + searchMaxPage + " y el tamaño entre 1 y " + searchMaxSize));
+		}
+		return clientSearchService.searchByName(name, page, size)
+				.map(reactiveSuccessResponse(OK, "Clientes consultados exitosamente"));
+	}
+
+	/*
+	 * Endpoint para exportar todos los clientes como NDJSON.
+	 * @return Multi<ClientSummary> El flujo de clientes en orden de id, sin tarjeta de crédito.
+	 * 
+	 */
+	@Override
+	public Multi<ClientSummary> exportClients() {
+		return clientExportService.exportClients();
 	}
 
 	/*
 	 * Endpoint para obtener un cliente por su documento.
-	 * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
+	 * @return Uni<Response> Respuesta HTTP con el cliente, 304 si no cambió o error si no se encuentra.
 	 * @param document El documento del cliente a buscar.
+	 * @param ifNoneMatch Los ETags que el llamador ya tiene, si los hay.
 	 * 
 	 */
     @Override
-	public Uni<Response> getClientByDocument(String document) {
-	return clientService.getClient(document)
-			.onItem().transformToUni(optional -> optional
-					.map(value -> Uni.createFrom()
-							.item(reactiveSuccessResponse(OK, "Cliente consultado exitosamente").apply(value)))
-					.orElseGet(() -> Uni.createFrom()
-							.item(response(NOT_FOUND,
-									"El cliente no fue encontrado o no existe"))));
+	public Uni<Response> getClientByDocument(String document, String ifNoneMatch) {
+	hotKeyService.record(document);
+	return clientService.getClientEntry(document)
+			.map(optional -> optional
+					.map(entry -> entryResponse(entry, ifNoneMatch))
+					.orElseGet(() -> response(NOT_FOUND, CLIENT_NOT_FOUND)));
     }
 
+	/*
+	 * Construye la respuesta para una entrada encontrada: 304 si el ETag
+	 * coincide, o el cliente con su ETag en caso contrario.
+	 * @return Response Respuesta HTTP con el cliente o 304.
+	 * @param entry La entrada de la caché con el cliente.
+	 * @param ifNoneMatch Los ETags que el llamador ya tiene, si los hay.
+	 * 
+	 */
+	private Response entryResponse(ClientCacheEntry entry, String ifNoneMatch) {
+		long start = System.nanoTime();
+		EntityTag tag = new EntityTag(entry.getETag());
+		if (matches(ifNoneMatch, tag.getValue())) {
+			responseTimer.record("not_modified", System.nanoTime() - start);
+			return Response.notModified(tag).build();
+		}
+		Response.ResponseBuilder builder = preSerialized
+				? serializedResponse(entry)
+				: Response.status(OK).entity(buildBody(entry.getValue(), OK, CLIENT_FOUND));
+		builder.tag(tag);
+		if (entry.isFromSnapshot()) {
+			builder.header(SOURCE_HEADER, "snapshot")
+					.header(SNAPSHOT_AGE_HEADER, (System.currentTimeMillis() - entry.getSnapshotAt()) / 1000);
+		}
+		Response response = builder.build();
+		responseTimer.record(preSerialized ? "serialized" : "ok", System.nanoTime() - start);
+		return response;
+	}
+
+	/*
+	 * Compara con comparación débil el ETag actual contra la lista enviada en
+	 * If-None-Match ("*" coincide con cualquier cliente existente).
+	 * @return boolean true si el llamador ya tiene la versión actual.
+	 * @param ifNoneMatch El valor del encabezado If-None-Match.
+	 * @param etag El ETag actual, sin comillas.
+	 * 
+	 */
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.equals("*")) {
+				return true;
+			}
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+				value = value.substring(1, value.length() - 1);
+			}
+			if (value.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Construye la respuesta exitosa a partir de los bytes JSON guardados en
+	 * la entrada; si aún no existen, los serializa una vez y los guarda.
+	 * @return Response.ResponseBuilder La respuesta con el cuerpo JSON ya serializado.
+	 * @param entry La entrada de la caché con el cliente.
+	 * 
+	 */
+	private Response.ResponseBuilder serializedResponse(ClientCacheEntry entry) {
+		byte[] body = entry.getSerializedResponse();
+		if (body == null) {
+			try {
+				body = objectMapper.writeValueAsBytes(buildBody(entry.getValue(), OK, CLIENT_FOUND));
+				entry.setSerializedResponse(body);
+			} catch (JsonProcessingException e) {
+				return Response.status(OK).entity(buildBody(entry.getValue(), OK, CLIENT_FOUND));
+			}
+		}
+		return Response.ok(body, MediaType.APPLICATION_JSON_TYPE);
+	}
+
+	/*
+	 * Endpoint para obtener varios clientes por sus documentos en una sola llamada.
+	 * @return Uni<Response> Respuesta HTTP con el resultado por documento.
+	 * @param request Los documentos de los clientes a buscar.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getClientsByDocuments(ClientBatchRequest request) {
+		if (request == null || request.documents() == null || request.documents().isEmpty()) {
+			return Uni.createFrom().item(response(BAD_REQUEST, "Debe enviar al menos un documento"));
+		}
+		if (request.documents().stream().anyMatch(document -> document == null || document.isBlank())) {
+			return Uni.createFrom().item(response(BAD_REQUEST, "Los documentos no pueden ser nulos ni vacíos"));
+		}
+		if (request.documents().size() > batchMaxSize) {
+			return Uni.createFrom().item(response(BAD_REQUEST,
+					"La consulta por lote admite máximo " + batchMaxSize + " documentos"));
+		}
+
+		return clientService.getClients(request.documents())
+				.map(reactiveSuccessResponse(OK, "Clientes consultados exitosamente"));
+	}
+
+	/*
+	 * Endpoint para reemplazar los datos de un cliente.
+	 * @return Uni<Response> Respuesta HTTP con el cliente actualizado o error.
+	 * @param document El documento del cliente a actualizar.
+	 * @param request Los nuevos datos del cliente.
+	 * 
+	 */
+	@Override
+	public Uni<Response> updateClient(String document, ClientUpdateRequest request) {
+		if (request == null || !request.isComplete()) {
+			return Uni.createFrom().item(response(BAD_REQUEST, "Debe enviar todos los campos del cliente"));
+		}
+		return update(document, request);
+	}
+
+	/*
+	 * Endpoint para actualizar parcialmente un cliente.
+	 * @return Uni<Response> Respuesta HTTP con el cliente actualizado o error.
+	 * @param document El documento del cliente a actualizar.
+	 * @param request Los campos a actualizar.
+	 * 
+	 */
+	@Override
+	public Uni<Response> patchClient(String document, ClientUpdateRequest request) {
+		if (request == null || !request.hasChanges()) {
+			return Uni.createFrom().item(response(BAD_REQUEST, "Debe enviar al menos un campo a actualizar"));
+		}
+		return update(document, request);
+	}
+
+	private Uni<Response> update(String document, ClientUpdateRequest request) {
+		return clientService.updateClient(document, request)
+				.map(optional -> optional
+						.map(value -> reactiveSuccessResponse(OK, CLIENT_UPDATED).apply(value))
+						.orElseGet(() -> response(NOT_FOUND, CLIENT_NOT_FOUND)))
+				.onFailure(ClientImplement::isConflict)
+				.recoverWithItem(() -> response(CONFLICT, CLIENT_CONFLICT));
+	}
+
+	/*
+	 * Una actualización concurrente de la misma fila o un valor único repetido
+	 * (por ejemplo el correo) se responde como conflicto.
+	 * @return boolean true si el error o alguna de sus causas es un conflicto.
+	 * @param error El error de la actualización.
+	 * 
+	 */
+	private static boolean isConflict(Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof OptimisticLockException
+					|| cause instanceof StaleStateException
+					|| cause instanceof ConstraintViolationException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Endpoint para obtener un cliente por su correo electrónico.
+	 * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
+	 * @param email El correo del cliente a buscar.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getClientByEmail(String email) {
+		return clientService.getClientByEmail(email)
+				.map(this::lookupResponse);
+	}
+
+	/*
+	 * Endpoint para obtener un cliente por su teléfono.
+	 * @return Uni<Response> Respuesta HTTP con el cliente o error si no se encuentra.
+	 * @param phone El teléfono del cliente a buscar.
+	 * 
+	 */
+	@Override
+	public Uni<Response> getClientByPhone(String phone) {
+		return clientService.getClientByPhone(phone)
+				.map(this::lookupResponse);
+	}
+
+	private Response lookupResponse(Optional<ClientCache> optional) {
+		return optional
+				.map(value -> reactiveSuccessResponse(OK, CLIENT_FOUND).apply(value))
+				.orElseGet(() -> response(NOT_FOUND, CLIENT_NOT_FOUND));
+	}
+
 }
@@ -0,0 +1,16 @@
+package org.acme.services;
+
+import java.util.Map;
+
+import org.acme.model.ClientCache;
+
+import io.smallrye.mutiny.Uni;
+
+public interface CacheFillService {
+
+    Uni<Void> fill(String id, ClientCache client);
+
+    Uni<Void> fillAll(Map<String, ClientCache> clients);
+
+    Uni<Void> refresh(String id, ClientCache client);
+}
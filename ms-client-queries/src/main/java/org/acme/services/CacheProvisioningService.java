@@ -0,0 +1,8 @@
+package org.acme.services;
+
+import org.acme.model.CacheConfigReport;
+
+public interface CacheProvisioningService {
+
+    CacheConfigReport report();
+}
@@ -1,11 +1,39 @@
 package org.acme.services;
 
+import java.util.Map;
+import java.util.Set;
+
 import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
 import io.smallrye.mutiny.Uni;
 
 public interface CacheService {
 
     Uni<ClientCache> getAsyncData(String id);
+
+    Uni<ClientCacheEntry> getAsyncEntry(String id);
     
-    Uni<ClientCache> putAsyncData(String id, ClientCache client);
+    Uni<Boolean> putIfAbsentAsyncData(String id, ClientCache client);
+
+    Uni<Map<String, ClientCache>> getAllAsyncData(Set<String> ids);
+
+    Uni<Void> putAllIfAbsentAsyncData(Map<String, ClientCache> clients);
+
+    Uni<Void> invalidateAll(Set<String> ids);
+
+    Uni<Boolean> replaceIfNewer(String id, ClientCache client);
+
+    Uni<Void> clear(boolean shared);
+
+    void invalidateNear(Set<String> ids);
+
+    boolean isShared();
+
+    void seedNear(Map<String, ClientCacheEntry> entries);
+
+    Uni<ClientCache> findByEmail(String email);
+
+    Uni<ClientCache> findByPhone(String phone);
+
+    boolean isReadThrough();
 }
@@ -0,0 +1,12 @@
+package org.acme.services;
+
+import org.acme.model.WarmupStatus;
+
+public interface CacheWarmupService {
+
+    boolean start();
+
+    boolean isRunning();
+
+    WarmupStatus status();
+}
@@ -0,0 +1,12 @@
+package org.acme.services;
+
+import java.util.List;
+
+import io.smallrye.mutiny.Uni;
+
+public interface ClientChangeService {
+
+    boolean isListening();
+
+    Uni<Void> applyChanges(List<String> payloads);
+}
@@ -0,0 +1,10 @@
+package org.acme.services;
+
+import org.acme.model.ClientSummary;
+
+import io.smallrye.mutiny.Multi;
+
+public interface ClientExportService {
+
+    Multi<ClientSummary> exportClients();
+}
@@ -0,0 +1,12 @@
+package org.acme.services;
+
+import java.util.List;
+
+import org.acme.model.ClientSummary;
+
+import io.smallrye.mutiny.Uni;
+
+public interface ClientSearchService {
+
+    Uni<List<ClientSummary>> searchByName(String name, int page, int size);
+}
@@ -1,7 +1,11 @@
 package org.acme.services;
 
+import java.util.List;
 import java.util.Optional;
 import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.ClientLookup;
+import org.acme.model.ClientUpdateRequest;
 
 import io.smallrye.mutiny.Uni;
 
@@ -9,4 +13,14 @@ public interface ClientService {
 
     Uni<Optional<ClientCache>> getClient(String document);
 
+    Uni<Optional<ClientCacheEntry>> getClientEntry(String document);
+
+    Uni<List<ClientLookup>> getClients(List<String> documents);
+
+    Uni<Optional<ClientCache>> getClientByEmail(String email);
+
+    Uni<Optional<ClientCache>> getClientByPhone(String phone);
+
+    Uni<Optional<ClientCache>> updateClient(String document, ClientUpdateRequest request);
+
 }
@@ -0,0 +1,14 @@
+package org.acme.services;
+
+public interface DocumentFilterService {
+
+    boolean isEnabled();
+
+    boolean mightExist(String document);
+
+    void add(String document);
+
+    boolean rebuild();
+
+    void reset();
+}
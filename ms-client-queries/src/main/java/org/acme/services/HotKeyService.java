@@ -0,0 +1,12 @@
+package org.acme.services;
+
+import org.acme.model.HotKeyReport;
+
+public interface HotKeyService {
+
+    boolean isEnabled();
+
+    void record(String document);
+
+    HotKeyReport report(int limit);
+}
@@ -0,0 +1,22 @@
+package org.acme.services;
+
+import java.util.Set;
+
+import io.smallrye.mutiny.Uni;
+
+public interface NegativeCacheService {
+
+    boolean isEnabled();
+
+    Uni<Boolean> isMissing(String document);
+
+    Uni<Set<String>> findMissing(Set<String> documents);
+
+    Uni<Void> markMissing(String document);
+
+    Uni<Void> markAllMissing(Set<String> documents);
+
+    Uni<Void> invalidate(String document);
+
+    Uni<Void> invalidateAll();
+}
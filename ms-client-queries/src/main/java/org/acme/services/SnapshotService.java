@@ -0,0 +1,17 @@
+package org.acme.services;
+
+import java.util.Optional;
+
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.SnapshotStatus;
+
+public interface SnapshotService {
+
+    boolean isEnabled();
+
+    Optional<ClientCacheEntry> find(String document);
+
+    boolean refresh();
+
+    SnapshotStatus status();
+}
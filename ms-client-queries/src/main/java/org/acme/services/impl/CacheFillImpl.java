@@ -0,0 +1,143 @@
+package org.acme.services.impl;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.ClientCache;
+import org.acme.services.CacheFillService;
+import org.acme.services.CacheService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Clase que escribe en la caché los clientes leídos desde la BD.
+ *
+ * En modo síncrono (por defecto) la respuesta espera la confirmación de la
+ * escritura. En modo asíncrono la escritura se lanza en segundo plano y la
+ * respuesta se entrega de inmediato; las escrituras en curso se acotan y, si
+ * se supera el límite, la escritura se descarta (la siguiente consulta volverá
+ * a la BD). Las escrituras fallidas se reintentan el número configurado de
+ * veces antes de contarse como fallidas.
+ *
+ * Un llenado tras un fallo de caché solo escribe si la clave sigue ausente,
+ * y una recarga reemplaza la entrada solo si no hay ya una versión más
+ * reciente del cliente. Así, un lector que leyó la versión anterior desde la
+ * BD nunca pisa el valor escrito por una actualización concurrente.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class CacheFillImpl implements CacheFillService {
+
+    private static final Logger LOG = Logger.getLogger(CacheFillImpl.class);
+
+    private final CacheService cacheService;
+    private final boolean async;
+    private final int maxInFlight;
+    private final int retries;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter completed;
+    private final Counter dropped;
+    private final Counter failed;
+
+    @Inject
+    public CacheFillImpl(CacheService cacheService, MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.fill.async", defaultValue = "false") boolean async,
+            @ConfigProperty(name = "client.cache.fill.max-in-flight", defaultValue = "256") int maxInFlight,
+            @ConfigProperty(name = "client.cache.fill.retries", defaultValue = "1") int retries) {
+        this.cacheService = cacheService;
+        this.async = async;
+        this.maxInFlight = maxInFlight;
+        this.retries = retries;
+
+        this.completed = fills(registry, "ok");
+        this.dropped = fills(registry, "dropped");
+        this.failed = fills(registry, "failed");
+        registry.gauge("client.cache.fill.in-flight", inFlight);
+    }
+
+    /*
+     * Escribe un cliente en la caché si la clave no tiene ya un valor.
+     * @return Uni<Void> Finaliza al confirmarse la escritura, o de inmediato en modo asíncrono.
+     * @param id El ID del cliente.
+     * @param client El cliente leído desde la BD.
+     *
+     */
+    @Override
+    public Uni<Void> fill(String id, ClientCache client) {
+        return submit(() -> cacheService.putIfAbsentAsyncData(id, client).replaceWithVoid(), id);
+    }
+
+    /*
+     * Escribe varios clientes en la caché, cada uno solo si su clave no tiene ya un valor.
+     * @return Uni<Void> Finaliza al confirmarse la escritura, o de inmediato en modo asíncrono.
+     * @param clients Los clientes leídos desde la BD, por ID.
+     *
+     */
+    @Override
+    public Uni<Void> fillAll(Map<String, ClientCache> clients) {
+        if (clients.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return submit(() -> cacheService.putAllIfAbsentAsyncData(clients), clients.size() + " clientes");
+    }
+
+    /*
+     * Reemplaza el cliente en la caché tras recargarlo desde la BD, salvo que
+     * la caché ya tenga una versión más reciente.
+     * @return Uni<Void> Finaliza al confirmarse la escritura, o de inmediato en modo asíncrono.
+     * @param id El ID del cliente.
+     * @param client El cliente recargado desde la BD.
+     *
+     */
+    @Override
+    public Uni<Void> refresh(String id, ClientCache client) {
+        return submit(() -> cacheService.replaceIfNewer(id, client).replaceWithVoid(), id);
+    }
+
+    private Uni<Void> submit(Supplier<Uni<Void>> write, String description) {
+        if (!async) {
+            return write.get();
+        }
+
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            dropped.increment();
+            LOG.debugf("Escrituras a caché saturadas, se descarta el llenado de %s", description);
+            return Uni.createFrom().voidItem();
+        }
+
+        Uni<Void> attempt = Uni.createFrom().deferred(write);
+        if (retries > 0) {
+            attempt = attempt.onFailure().retry().atMost(retries);
+        }
+        attempt.onTermination().invoke(inFlight::decrementAndGet)
+                .subscribe().with(
+                    ignored -> completed.increment(),
+                    err -> {
+                        failed.increment();
+                        LOG.warnf(err, "No fue posible llenar la caché con %s", description);
+                    }
+                );
+        return Uni.createFrom().voidItem();
+    }
+
+    private static Counter fills(MeterRegistry registry, String result) {
+        return Counter.builder("client.cache.fill")
+                .tag("result", result)
+                .register(registry);
+    }
+}
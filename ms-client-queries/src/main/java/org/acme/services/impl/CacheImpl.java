@@ -1,62 +1,674 @@
 package org.acme.services.impl;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
 import org.acme.services.CacheService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+import org.acme.utils.StageTimer;
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.Search;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryRemoved;
+import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
+import org.infinispan.query.dsl.Query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.quarkus.arc.properties.IfBuildProperty;
 import io.quarkus.infinispan.client.Remote;
+import io.quarkus.runtime.StartupEvent;
 
 import static org.acme.utils.constants.Constants.CACHE_REMOTE_NAME;
 
 /**
  * Clase que implementa la lógica del servicio de caché utilizando Infinispan.
- * 
+ *
+ * Opcionalmente mantiene un near cache en memoria (tamaño acotado y TTL por
+ * entrada) delante de RH DataGrid, de forma que las lecturas repetidas se
+ * resuelven desde el heap sin ir por la red. La coherencia se mantiene con un
+ * listener remoto que invalida las entradas modificadas en el grid.
+ *
+ * Cada entrada del near cache guarda la versión del grid con la que se leyó,
+ * y un evento de escritura solo la invalida si trae otra versión; así los
+ * eventos de las propias escrituras no vacían el near cache. Las escrituras
+ * no copian su valor al near cache (no conocen la versión que les asignó el
+ * grid): la siguiente lectura lo trae junto con su versión.
+ *
+ * El mismo listener elimina las marcas de la caché negativa y registra el
+ * documento en el filtro de Bloom cuando un cliente es creado en el grid.
+ *
+ * Las entradas se escriben con el lifespan y max-idle configurados y se leen
+ * junto con su metadata de expiración, lo que permite refrescarlas antes de
+ * que expiren.
+ *
+ * Los llenados tras un fallo solo escriben si la clave está ausente, y las
+ * actualizaciones y recargas usan reemplazo condicional por versión del grid,
+ * de modo que una entrada nunca se reemplaza por una versión más antigua del
+ * cliente.
+ *
+ * Las consultas por correo y teléfono usan los índices de RH DataGrid sobre
+ * ClientCache mediante Ickle.
+ *
+ * Las operaciones contra el grid se miden con timers de Micrometer por
+ * operación y resultado.
+ *
+ * Con {@code client.cache.mode=read-through} se asume que CLIENT-LIST fue
+ * provisionada con un cargador JDBC en el servidor (ver
+ * {@code infinispan/client-list-read-through-v1.xml}): un fallo en el grid
+ * significa que el cliente no existe en la BD.
+ *
+ * Es el backend por defecto ({@code client.cache.backend=remote}).
+ *
  * @author Felipe Malaver
  * @since 2025-12-09
- * @version 1.0
+ * @version 1.2
  */
 @ApplicationScoped
+@IfBuildProperty(name = "client.cache.backend", stringValue = "remote", enableIfMissing = true)
 public class CacheImpl implements CacheService {
 
     private static final Logger LOG = Logger.getLogger(CacheImpl.class);
 
+    private static final String TIER_NEAR = "near";
+    private static final String TIER_REMOTE = "remote";
+    private static final String TIER_INDEX = "index";
+
+    private static final String MODE_READ_THROUGH = "read-through";
+
     private final RemoteCache<String, ClientCache> cache;
+    private final NegativeCacheService negativeCacheService;
+    private final DocumentFilterService documentFilterService;
+    private final boolean nearEnabled;
+    private final Duration lifespan;
+    private final Duration maxIdle;
+    private final int writeMaxRetries;
+    private final boolean readThrough;
+    private final Cache<String, NearEntry> nearCache;
+    private final NearCacheInvalidator invalidator = new NearCacheInvalidator();
+
+    /* Número de franjas de épocas de invalidación (potencia de 2). */
+    private static final int EPOCH_STRIPES = 1024;
+
+    /* Versión del grid desconocida: cualquier evento de la clave invalida la entrada. */
+    private static final long UNKNOWN_VERSION = -1L;
+
+    /*
+     * Épocas de invalidación por franja de claves. Una invalidación solo
+     * incrementa la franja de su clave, y una lectura remota solo se copia al
+     * near cache si su franja no cambió mientras estaba en vuelo.
+     */
+    private final AtomicLongArray invalidationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter nearInvalidations;
+    private final Counter indexHits;
+
+    private final StageTimer getTimer;
+    private final StageTimer putTimer;
+    private final StageTimer getAllTimer;
+    private final StageTimer putAllTimer;
+    private final StageTimer queryTimer;
+    private final Counter indexMisses;
 
     @Inject
-    public CacheImpl(@Remote(CACHE_REMOTE_NAME) RemoteCache<String, ClientCache> cache) {
+    public CacheImpl(@Remote(CACHE_REMOTE_NAME) RemoteCache<String, ClientCache> cache,
+            NegativeCacheService negativeCacheService,
+            DocumentFilterService documentFilterService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.near.enabled", defaultValue = "false") boolean nearEnabled,
+            @ConfigProperty(name = "client.cache.near.max-size", defaultValue = "10000") long nearMaxSize,
+            @ConfigProperty(name = "client.cache.near.ttl", defaultValue = "30s") Duration nearTtl,
+            @ConfigProperty(name = "client.cache.lifespan", defaultValue = "0s") Duration lifespan,
+            @ConfigProperty(name = "client.cache.max-idle", defaultValue = "0s") Duration maxIdle,
+            @ConfigProperty(name = "client.cache.write.max-retries", defaultValue = "5") int writeMaxRetries,
+            @ConfigProperty(name = "client.cache.mode", defaultValue = "cache-aside") String mode) {
         this.cache = cache;
+        this.negativeCacheService = negativeCacheService;
+        this.documentFilterService = documentFilterService;
+        this.nearEnabled = nearEnabled;
+        this.lifespan = lifespan;
+        this.maxIdle = maxIdle;
+        this.writeMaxRetries = writeMaxRetries;
+        this.readThrough = MODE_READ_THROUGH.equalsIgnoreCase(mode);
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfter(new NearCacheExpiry(nearTtl))
+                .build();
+
+        this.nearHits = requests(registry, TIER_NEAR, "hit");
+        this.nearMisses = requests(registry, TIER_NEAR, "miss");
+        this.remoteHits = requests(registry, TIER_REMOTE, "hit");
+        this.remoteMisses = requests(registry, TIER_REMOTE, "miss");
+        this.getTimer = new StageTimer(registry, "client.cache.remote", "get");
+        this.putTimer = new StageTimer(registry, "client.cache.remote", "put");
+        this.getAllTimer = new StageTimer(registry, "client.cache.remote", "get-all");
+        this.putAllTimer = new StageTimer(registry, "client.cache.remote", "put-all");
+        this.queryTimer = new StageTimer(registry, "client.cache.remote", "query");
+        this.indexHits = requests(registry, TIER_INDEX, "hit");
+        this.indexMisses = requests(registry, TIER_INDEX, "miss");
+        this.nearInvalidations = Counter.builder("client.cache.invalidations")
+                .tag("tier", TIER_NEAR)
+                .register(registry);
+        registry.gauge("client.cache.near.size", nearCache, Cache::estimatedSize);
+    }
+
+    /*
+     * Registra el listener remoto al iniciar la aplicación para que el near
+     * cache y la caché negativa reciban las invalidaciones desde el primer momento.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (readThrough) {
+            LOG.info("CLIENT-LIST en modo read-through: los fallos se resuelven con el cargador JDBC del grid");
+        }
+        if (listenerRequired()) {
+            LOG.info("Registrando listener de invalidación en RH DataGrid");
+            cache.addClientListener(invalidator);
+        }
+    }
+
+    @PreDestroy
+    void onStop() {
+        if (listenerRequired()) {
+            cache.removeClientListener(invalidator);
+        }
+    }
+
+    private boolean listenerRequired() {
+        return nearEnabled || negativeCacheService.isEnabled() || documentFilterService.isEnabled();
     }
 
     /*
      * Consulta de datos asíncrona en la caché de Infinispan.
      * @return Uni<ClientCache> El cliente almacenado en caché.
      * @param id El ID del cliente a buscar.
-     * 
+     *
      */
     @Override
     public Uni<ClientCache> getAsyncData(String id) {
-        LOG.info("Consultado datos en RH DataGrid para el ID: " + id);
-        return Uni.createFrom().completionStage(cache.getAsync(id));
+        return getAsyncEntry(id).map(entry -> entry == null ? null : entry.getValue());
     }
 
     /*
-     * Almacenamiento de datos asíncrono en la caché de Infinispan.
-     * @return Uni<ClientCache> El cliente almacenado en caché.
+     * Consulta asíncrona del cliente junto con su metadata de expiración.
+     * @return Uni<ClientCacheEntry> La entrada almacenada en caché o null si no existe.
+     * @param id El ID del cliente a buscar.
+     *
+     */
+    @Override
+    public Uni<ClientCacheEntry> getAsyncEntry(String id) {
+        if (nearEnabled) {
+            NearEntry near = nearCache.getIfPresent(id);
+            if (near != null) {
+                nearHits.increment();
+                return Uni.createFrom().item(near.entry());
+            }
+            nearMisses.increment();
+        }
+
+        LOG.debugf("Consultado datos en RH DataGrid para el ID: %s", id);
+        long epoch = epoch(id);
+        return getTimer.time(Uni.createFrom().completionStage(cache.getWithMetadataAsync(id)),
+                        metadata -> metadata != null ? "hit" : "miss")
+                .map(metadata -> {
+                    if (metadata == null) {
+                        remoteMisses.increment();
+                        return null;
+                    }
+                    remoteHits.increment();
+                    ClientCacheEntry entry = toEntry(metadata);
+                    storeNear(id, entry, metadata.getVersion(), epoch);
+                    return entry;
+                });
+    }
+
+    /*
+     * Almacenamiento asíncrono en la caché de Infinispan solo si la clave no
+     * tiene valor, para no pisar una versión escrita por una actualización
+     * mientras el cliente se leía desde la BD.
+     * @return Uni<Boolean> true si el cliente quedó almacenado, false si la clave ya tenía valor.
      * @param id El ID del cliente a almacenar.
      * @param client El cliente a almacenar en caché.
-     * 
+     *
+     */
+    @Override
+    public Uni<Boolean> putIfAbsentAsyncData(String id, ClientCache client) {
+        LOG.debugf("Creando un Cliente en RH DataGrid con el ID: %s", id);
+        return putTimer.time(putIfAbsent(id, client), stored -> stored ? "ok" : "present");
+    }
+
+    /*
+     * Consulta por lote asíncrona en la caché de Infinispan. Las claves
+     * presentes en el near cache no viajan al grid.
+     * @return Uni<Map<String, ClientCache>> Los clientes encontrados, por ID.
+     * @param ids Los IDs de los clientes a buscar.
+     *
+     */
+    @Override
+    public Uni<Map<String, ClientCache>> getAllAsyncData(Set<String> ids) {
+        Map<String, ClientCache> found = new HashMap<>();
+        Set<String> pending = ids;
+
+        if (nearEnabled) {
+            pending = new HashSet<>();
+            for (String id : ids) {
+                NearEntry near = nearCache.getIfPresent(id);
+                if (near != null && !near.entry().isFromSnapshot()) {
+                    found.put(id, near.entry().getValue());
+                } else {
+                    pending.add(id);
+                }
+            }
+            nearHits.increment(found.size());
+            nearMisses.increment(pending.size());
+        }
+
+        if (pending.isEmpty()) {
+            return Uni.createFrom().item(found);
+        }
+
+        LOG.debugf("Consultando %d IDs en RH DataGrid", pending.size());
+        Map<String, Long> epochs = new HashMap<>();
+        pending.forEach(id -> epochs.put(id, epoch(id)));
+        int requested = pending.size();
+        return getAllTimer.time(Uni.createFrom().completionStage(cache.getAllAsync(pending)), ignored -> "ok")
+                .map(remote -> {
+                    remoteHits.increment(remote.size());
+                    remoteMisses.increment(requested - remote.size());
+                    remote.forEach((id, client) ->
+                            storeNear(id, ClientCacheEntry.of(client), UNKNOWN_VERSION, epochs.get(id)));
+                    found.putAll(remote);
+                    return found;
+                });
+    }
+
+    /*
+     * Almacenamiento por lote asíncrono en la caché de Infinispan. Hot Rod no
+     * tiene un putAll condicional, por lo que cada clave se escribe con su
+     * propio putIfAbsent; las escrituras viajan en paralelo.
+     * @return Uni<Void> Finaliza cuando el grid confirma todas las escrituras.
+     * @param clients Los clientes a almacenar, por ID.
+     *
+     */
+    @Override
+    public Uni<Void> putAllIfAbsentAsyncData(Map<String, ClientCache> clients) {
+        if (clients.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        LOG.debugf("Creando %d Clientes en RH DataGrid", clients.size());
+        List<Uni<Boolean>> writes = clients.entrySet().stream()
+                .map(entry -> putIfAbsent(entry.getKey(), entry.getValue()))
+                .toList();
+        return putAllTimer.time(Uni.join().all(writes).andCollectFailures(), ignored -> "ok")
+                .replaceWithVoid();
+    }
+
+    /*
+     * putIfAbsent en el grid. Sin FORCE_RETURN_VALUE Hot Rod siempre devuelve
+     * null, por lo que no se sabría si la escritura ocurrió.
+     * @return Uni<Boolean> true si la clave estaba ausente y quedó con este valor.
+     * @param id El ID del cliente.
+     * @param client El cliente a almacenar.
+     *
+     */
+    private Uni<Boolean> putIfAbsent(String id, ClientCache client) {
+        return Uni.createFrom().completionStage(cache.withFlags(Flag.FORCE_RETURN_VALUE)
+                        .putIfAbsentAsync(id, client, lifespan.toMillis(), TimeUnit.MILLISECONDS,
+                                maxIdle.toMillis(), TimeUnit.MILLISECONDS))
+                .map(previous -> previous == null);
+    }
+
+    /*
+     * Elimina varias entradas de la caché de Infinispan y del near cache.
+     * @return Uni<Void> Finaliza cuando el grid confirma todas las eliminaciones.
+     * @param ids Los IDs de los clientes a eliminar.
+     *
      */
     @Override
-    public Uni<ClientCache> putAsyncData(String id, ClientCache client) {
-        LOG.info("Creando un Cliente en RH DataGrid con el ID: " + id);
-        return Uni.createFrom().completionStage(
-                cache.putAsync(id, client, 0L, java.util.concurrent.TimeUnit.MILLISECONDS, 0L,
-                        java.util.concurrent.TimeUnit.MILLISECONDS));
+    public Uni<Void> invalidateAll(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        LOG.debugf("Eliminando %d Clientes de RH DataGrid", ids.size());
+        ids.forEach(this::invalidateNear);
+        List<Uni<ClientCache>> removals = ids.stream()
+                .map(id -> Uni.createFrom().completionStage(cache.removeAsync(id)))
+                .toList();
+        return Uni.join().all(removals).andCollectFailures().replaceWithVoid();
+    }
+
+    /*
+     * Escribe el cliente salvo que la entrada actual tenga una versión más
+     * reciente; una versión igual se reescribe para renovar su tiempo de vida
+     * (recargas anticipadas). Usa la versión de la entrada en el grid (leída
+     * con getWithMetadata) para reemplazar de forma atómica; si otro escritor
+     * se adelanta, se vuelve a leer y reintentar. Si se agotan los reintentos
+     * se elimina la entrada para no dejar un valor obsoleto.
+     * @return Uni<Boolean> true si la caché quedó con este valor, false si ya tenía uno más reciente.
+     * @param id El ID del cliente.
+     * @param client El cliente actualizado, con su versión de la BD.
+     *
+     */
+    @Override
+    public Uni<Boolean> replaceIfNewer(String id, ClientCache client) {
+        return replaceIfNewer(id, client, writeMaxRetries)
+                .invoke(() -> invalidateNear(id));
+    }
+
+    private Uni<Boolean> replaceIfNewer(String id, ClientCache client, int retriesLeft) {
+        return Uni.createFrom().completionStage(cache.getWithMetadataAsync(id))
+                .chain(current -> {
+                    if (current != null && current.getValue().version > client.version) {
+                        return Uni.createFrom().item(false);
+                    }
+                    Uni<Boolean> written = current == null
+                            ? putIfAbsent(id, client)
+                            : Uni.createFrom().completionStage(cache.replaceWithVersionAsync(id, client,
+                                    current.getVersion(), lifespan.toMillis(), TimeUnit.MILLISECONDS,
+                                    maxIdle.toMillis(), TimeUnit.MILLISECONDS));
+                    return written.chain(success -> {
+                        if (success) {
+                            return Uni.createFrom().item(true);
+                        }
+                        if (retriesLeft > 0) {
+                            LOG.debugf("Escritura concurrente sobre %s, reintentando", id);
+                            return replaceIfNewer(id, client, retriesLeft - 1);
+                        }
+                        LOG.warnf("No fue posible actualizar %s en RH DataGrid, se elimina la entrada", id);
+                        return Uni.createFrom().completionStage(cache.removeAsync(id)).replaceWith(false);
+                    });
+                });
+    }
+
+    /*
+     * Vacía el near cache y, si se pide, también CLIENT-LIST en el grid.
+     * Vaciar el grid afecta a todas las instancias, por lo que solo conviene
+     * cuando ninguna pudo haber aplicado los cambios perdidos.
+     * @return Uni<Void> Finaliza cuando las entradas fueron eliminadas.
+     * @param shared true para vaciar también la caché compartida del grid.
+     *
+     */
+    @Override
+    public Uni<Void> clear(boolean shared) {
+        invalidateNearAll();
+        if (!shared) {
+            return Uni.createFrom().voidItem();
+        }
+        LOG.info("Vaciando CLIENT-LIST en RH DataGrid");
+        return Uni.createFrom().completionStage(cache.clearAsync());
+    }
+
+    /*
+     * Invalida en el near cache de esta instancia las entradas indicadas, sin
+     * tocar el grid.
+     * @param ids Los IDs de los clientes a invalidar.
+     *
+     */
+    @Override
+    public void invalidateNear(Set<String> ids) {
+        ids.forEach(this::invalidateNear);
+    }
+
+    /*
+     * @return boolean true: CLIENT-LIST en el grid es compartida por todas las instancias.
+     *
+     */
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    /*
+     * Precarga el near cache (si está habilitado) sin escribir en el grid ni
+     * reemplazar entradas ya leídas. Las entradas vienen marcadas como leídas
+     * del snapshot y sin versión del grid, de modo que cualquier evento de
+     * escritura de la clave las invalida; no se usan en las consultas por
+     * lote y expiran con el TTL del near cache.
+     * @param entries Las entradas marcadas como leídas del snapshot, por ID.
+     *
+     */
+    @Override
+    public void seedNear(Map<String, ClientCacheEntry> entries) {
+        if (!nearEnabled) {
+            return;
+        }
+        entries.forEach((id, entry) -> nearCache.asMap().putIfAbsent(id, new NearEntry(entry, UNKNOWN_VERSION)));
+    }
+
+    /*
+     * @return boolean true si CLIENT-LIST resuelve los fallos contra la BD en el servidor.
+     *
+     */
+    @Override
+    public boolean isReadThrough() {
+        return readThrough;
+    }
+
+    @Override
+    public Uni<ClientCache> findByEmail(String email) {
+        return findByIndexedField("email", email);
+    }
+
+    @Override
+    public Uni<ClientCache> findByPhone(String phone) {
+        return findByIndexedField("phone", phone);
+    }
+
+    /*
+     * Consulta Ickle sobre un campo indexado de ClientCache. La ejecución de
+     * la consulta remota es bloqueante, por lo que se hace en un hilo worker.
+     * @return Uni<ClientCache> El primer cliente con ese valor, o null si no hay.
+     * @param field El campo indexado (email o phone).
+     * @param value El valor a buscar.
+     *
+     */
+    private Uni<ClientCache> findByIndexedField(String field, String value) {
+        LOG.debugf("Consultando índice %s en RH DataGrid", field);
+        return queryTimer.time(Uni.createFrom().item(() -> {
+                    Query<ClientCache> query = Search.getQueryFactory(cache)
+                            .create("FROM ClientCache c WHERE c." + field + " = :value");
+                    query.setParameter("value", value);
+                    query.maxResults(1);
+                    List<ClientCache> result = query.execute().list();
+                    return result.isEmpty() ? null : result.get(0);
+                })
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()), client -> client != null ? "hit" : "miss")
+                .invoke(client -> (client != null ? indexHits : indexMisses).increment());
+    }
+
+    /*
+     * Copia el valor al near cache solo si la franja de la clave no fue
+     * invalidada desde que se inició la operación remota, evitando reinstalar
+     * un valor obsoleto.
+     * @param id El ID del cliente.
+     * @param entry La entrada a almacenar.
+     * @param gridVersion La versión de la entrada en el grid, o UNKNOWN_VERSION.
+     * @param epoch La época de la franja observada al iniciar la operación.
+     *
+     */
+    private void storeNear(String id, ClientCacheEntry entry, long gridVersion, long epoch) {
+        if (nearEnabled && epoch(id) == epoch) {
+            nearCache.put(id, new NearEntry(entry, gridVersion));
+        }
+    }
+
+    private long epoch(String id) {
+        return invalidationEpochs.get(stripe(id));
+    }
+
+    private static int stripe(String id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    /*
+     * Convierte la metadata de Hot Rod (lifespan en segundos) a una entrada.
+     * @return ClientCacheEntry La entrada con su metadata de expiración.
+     * @param metadata El valor con metadata devuelto por el grid.
+     *
+     */
+    private static ClientCacheEntry toEntry(MetadataValue<ClientCache> metadata) {
+        long lifespanMillis = metadata.getLifespan() < 0
+                ? ClientCacheEntry.IMMORTAL
+                : TimeUnit.SECONDS.toMillis(metadata.getLifespan());
+        return new ClientCacheEntry(metadata.getValue(), metadata.getCreated(), lifespanMillis);
+    }
+
+    private void invalidateNear(String id) {
+        invalidationEpochs.incrementAndGet(stripe(id));
+        if (nearCache.asMap().remove(id) != null) {
+            nearInvalidations.increment();
+        }
+    }
+
+    /*
+     * Un cliente fue escrito en el grid: deja de ser inexistente y se registra
+     * en el filtro de Bloom. La entrada del near cache solo se invalida si se
+     * leyó con otra versión del grid; si ya tiene la versión del evento (por
+     * ejemplo, la propia escritura ya releída) se conserva.
+     * @param id El ID del cliente escrito.
+     * @param gridVersion La versión del grid que trae el evento.
+     *
+     */
+    private void onClientWritten(String id, long gridVersion) {
+        invalidationEpochs.incrementAndGet(stripe(id));
+        NearEntry current = nearCache.getIfPresent(id);
+        if (current != null && current.gridVersion() != gridVersion && nearCache.asMap().remove(id, current)) {
+            nearInvalidations.increment();
+        }
+        documentFilterService.add(id);
+        negativeCacheService.invalidate(id)
+                .subscribe().with(
+                    ignored -> { },
+                    err -> LOG.warnf(err, "No fue posible invalidar la caché negativa para %s", id)
+                );
+    }
+
+    private void invalidateNearAll() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            invalidationEpochs.incrementAndGet(i);
+        }
+        long size = nearCache.estimatedSize();
+        nearCache.invalidateAll();
+        nearInvalidations.increment(size);
+    }
+
+    private static Counter requests(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("client.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Expiración del near cache: el TTL configurado, sin superar nunca el
+     * tiempo de vida restante de la entrada en el grid.
+     */
+    private static final class NearCacheExpiry implements Expiry<String, NearEntry> {
+
+        private final long ttlNanos;
+
+        NearCacheExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, NearEntry near, long currentTime) {
+            long remaining = near.entry().remaining(System.currentTimeMillis());
+            return remaining == Long.MAX_VALUE
+                    ? ttlNanos
+                    : Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NearEntry near, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, near, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, NearEntry near, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Entrada del near cache junto con la versión del grid con la que se leyó.
+     */
+    private record NearEntry(ClientCacheEntry entry, long gridVersion) {
+    }
+
+    /**
+     * Listener remoto que invalida el near cache cuando una entrada cambia en
+     * RH DataGrid. Ante un failover del servidor se vacía por completo, ya que
+     * pudieron perderse eventos.
+     */
+    @ClientListener
+    public class NearCacheInvalidator {
+
+        @ClientCacheEntryCreated
+        public void onCreated(ClientCacheEntryCreatedEvent<String> event) {
+            onClientWritten(event.getKey(), event.getVersion());
+        }
+
+        @ClientCacheEntryModified
+        public void onModified(ClientCacheEntryModifiedEvent<String> event) {
+            onClientWritten(event.getKey(), event.getVersion());
+        }
+
+        @ClientCacheEntryRemoved
+        public void onRemoved(ClientCacheEntryRemovedEvent<String> event) {
+            invalidateNear(event.getKey());
+        }
+
+        @ClientCacheEntryExpired
+        public void onExpired(ClientCacheEntryExpiredEvent<String> event) {
+            invalidateNear(event.getKey());
+        }
+
+        @ClientCacheFailover
+        public void onFailover(ClientCacheFailoverEvent event) {
+            LOG.warn("Failover en RH DataGrid, se vacía el near cache");
+            invalidateNearAll();
+        }
     }
 }
@@ -0,0 +1,335 @@
+package org.acme.services.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.CacheConfigReport;
+import org.acme.services.CacheProvisioningService;
+import org.acme.utils.DigestAuth;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ServerConfiguration;
+import org.infinispan.client.hotrod.configuration.SslConfiguration;
+import org.infinispan.commons.configuration.StringConfiguration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+
+import static org.acme.utils.constants.Constants.CACHE_REMOTE_NAME;
+
+/**
+ * Clase que implementa el aprovisionamiento de CLIENT-LIST en RH DataGrid.
+ *
+ * Al iniciar, antes que cualquier otro componente use la caché, crea
+ * CLIENT-LIST desde una plantilla versionada si no existe. Los valores de la
+ * plantilla (dueños, almacenamiento y límite de desalojo) salen de la
+ * configuración, de modo que el consumo de memoria y el desalojo son
+ * predecibles.
+ *
+ * Si la caché ya existía, el servidor conserva su configuración; por eso
+ * después se lee la configuración efectiva por la API REST del servidor y se
+ * compara con la esperada. Las diferencias se registran en el log, en el
+ * gauge {@code client.cache.config.drift} y en el endpoint de administración.
+ * La API REST se consulta con los mismos servidores, TLS y credenciales del
+ * cliente Hot Rod; sin TLS la contraseña nunca viaja en claro (solo Digest).
+ *
+ * Solo aplica al backend remoto; con los demás no se resuelve el cliente
+ * Hot Rod.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class CacheProvisioningImpl implements CacheProvisioningService {
+
+    private static final Logger LOG = Logger.getLogger(CacheProvisioningImpl.class);
+
+    private static final String BACKEND_REMOTE = "remote";
+    private static final String CACHE_MODE = "distributed-cache";
+    private static final Duration REST_TIMEOUT = Duration.ofSeconds(10);
+    private static final String INDEXED_ENTITY = "ClientCache";
+
+    private final Instance<RemoteCacheManager> cacheManager;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean verify;
+    private final String template;
+    private final int owners;
+    private final String storage;
+    private final long maxCount;
+    private final Optional<String> maxSize;
+    private final Optional<String> username;
+    private final Optional<String> password;
+
+    private volatile CacheConfigReport report;
+
+    @Inject
+    public CacheProvisioningImpl(Instance<RemoteCacheManager> cacheManager, ObjectMapper objectMapper, MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.backend", defaultValue = BACKEND_REMOTE) String backend,
+            @ConfigProperty(name = "client.cache.provisioning.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "client.cache.provisioning.verify", defaultValue = "true") boolean verify,
+            @ConfigProperty(name = "client.cache.provisioning.template", defaultValue = "infinispan/client-list-v1.xml") String template,
+            @ConfigProperty(name = "client.cache.provisioning.owners", defaultValue = "2") int owners,
+            @ConfigProperty(name = "client.cache.provisioning.storage", defaultValue = "OFF_HEAP") String storage,
+            @ConfigProperty(name = "client.cache.provisioning.max-count", defaultValue = "1000000") long maxCount,
+            @ConfigProperty(name = "client.cache.provisioning.max-size") Optional<String> maxSize,
+            @ConfigProperty(name = "quarkus.infinispan-client.username") Optional<String> username,
+            @ConfigProperty(name = "quarkus.infinispan-client.password") Optional<String> password) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled && BACKEND_REMOTE.equalsIgnoreCase(backend);
+        this.verify = verify;
+        this.template = template;
+        this.owners = owners;
+        this.storage = storage.toUpperCase();
+        this.maxCount = maxCount;
+        this.maxSize = maxSize.filter(value -> !value.isBlank());
+        this.username = username;
+        this.password = password;
+        this.report = new CacheConfigReport(this.enabled, CACHE_REMOTE_NAME, template, false, List.of(), null);
+
+        registry.gauge("client.cache.config.drift", this, provisioning -> provisioning.report.drift().size());
+    }
+
+    /*
+     * Crea y verifica CLIENT-LIST al iniciar la aplicación. Se ejecuta antes
+     * que los demás observadores del arranque, que ya usan la caché.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        boolean created = false;
+        RemoteCacheManager manager;
+        try {
+            manager = cacheManager.get();
+            created = !manager.getCacheNames().contains(CACHE_REMOTE_NAME);
+            String xml = render(loadTemplate());
+            manager.administration().getOrCreateCache(CACHE_REMOTE_NAME, new StringConfiguration(xml));
+            LOG.infof("CLIENT-LIST %s con la plantilla %s", created ? "creada" : "existente", template);
+        } catch (RuntimeException | IOException e) {
+            LOG.error("No fue posible aprovisionar " + CACHE_REMOTE_NAME, e);
+            report = new CacheConfigReport(true, CACHE_REMOTE_NAME, template, false, List.of(), e.getMessage());
+            return;
+        }
+
+        if (!verify) {
+            report = new CacheConfigReport(true, CACHE_REMOTE_NAME, template, created, List.of(), null);
+            return;
+        }
+        try {
+            List<String> drift = compare(fetchServerConfiguration(manager.getConfiguration()));
+            drift.forEach(difference -> LOG.warnf("Configuración de %s difiere de la plantilla: %s",
+                    CACHE_REMOTE_NAME, difference));
+            if (drift.isEmpty()) {
+                LOG.infof("La configuración de %s coincide con la plantilla %s", CACHE_REMOTE_NAME, template);
+            }
+            report = new CacheConfigReport(true, CACHE_REMOTE_NAME, template, created, drift, null);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("No fue posible verificar la configuración de " + CACHE_REMOTE_NAME, e);
+            report = new CacheConfigReport(true, CACHE_REMOTE_NAME, template, created, List.of(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public CacheConfigReport report() {
+        return report;
+    }
+
+    private String loadTemplate() throws IOException {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(template)) {
+            if (in == null) {
+                throw new IOException("Plantilla no encontrada: " + template);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String render(String xml) {
+        String eviction = maxSize.map(size -> "max-size=\"" + size + "\"")
+                .orElse("max-count=\"" + maxCount + "\"");
+        return xml.replace("${owners}", String.valueOf(owners))
+                .replace("${storage}", storage)
+                .replace("${eviction}", eviction);
+    }
+
+    /*
+     * Atributos esperados, como JSON pointer sobre la configuración del
+     * servidor y el valor que deberían tener.
+     */
+    private Map<String, String> expected() {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("/mode", "SYNC");
+        expected.put("/owners", String.valueOf(owners));
+        expected.put("/statistics", "true");
+        expected.put("/encoding/media-type", "application/x-protostream");
+        expected.put("/memory/storage", storage);
+        expected.put("/memory/when-full", "REMOVE");
+        expected.put("/indexing/enabled", "true");
+        expected.put("/indexing/storage", "local-heap");
+        maxSize.ifPresentOrElse(
+                size -> expected.put("/memory/max-size", size),
+                () -> expected.put("/memory/max-count", String.valueOf(maxCount)));
+        return expected;
+    }
+
+    private List<String> compare(JsonNode config) {
+        List<String> drift = new ArrayList<>();
+        JsonNode cache = config.has(CACHE_REMOTE_NAME) ? config.get(CACHE_REMOTE_NAME) : config;
+        if (!cache.has(CACHE_MODE)) {
+            String found = cache.fieldNames().hasNext() ? cache.fieldNames().next() : "ninguno";
+            drift.add("tipo de caché: se esperaba " + CACHE_MODE + ", se encontró " + found);
+            return drift;
+        }
+        JsonNode actual = cache.get(CACHE_MODE);
+        expected().forEach((pointer, value) -> {
+            JsonNode node = actual.at(pointer);
+            if (node.isMissingNode()) {
+                drift.add(pointer + ": se esperaba " + value + ", no está definido");
+            } else if (!node.asText().equalsIgnoreCase(value)) {
+                drift.add(pointer + ": se esperaba " + value + ", se encontró " + node.asText());
+            }
+        });
+        JsonNode entities = actual.at("/indexing/indexed-entities");
+        boolean indexed = false;
+        for (JsonNode entity : entities) {
+            indexed |= INDEXED_ENTITY.equals(entity.asText());
+        }
+        if (!indexed) {
+            drift.add("/indexing/indexed-entities: se esperaba " + INDEXED_ENTITY + ", se encontró "
+                    + (entities.isMissingNode() ? "ninguna" : entities.toString()));
+        }
+        return drift;
+    }
+
+    /*
+     * Lee la configuración efectiva de la caché desde la API REST del
+     * servidor, que escucha en el mismo puerto que Hot Rod. Prueba cada
+     * servidor configurado hasta que uno responde.
+     * @return JsonNode La configuración de la caché.
+     * @param configuration La configuración del cliente Hot Rod.
+     */
+    private JsonNode fetchServerConfiguration(Configuration configuration) throws IOException, InterruptedException {
+        SslConfiguration ssl = configuration.security().ssl();
+        boolean authenticate = configuration.security().authentication().enabled() && username.isPresent();
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(REST_TIMEOUT);
+        if (ssl.enabled()) {
+            builder.sslContext(sslContext(ssl));
+        }
+        HttpClient client = builder.build();
+
+        IOException failure = null;
+        for (ServerConfiguration server : configuration.servers()) {
+            String host = server.host().contains(":") ? "[" + server.host() + "]" : server.host();
+            URI uri = URI.create((ssl.enabled() ? "https://" : "http://") + host + ":" + server.port()
+                    + "/rest/v2/caches/" + CACHE_REMOTE_NAME + "?action=config");
+            try {
+                return objectMapper.readTree(fetch(client, uri, authenticate, ssl.enabled()));
+            } catch (IOException e) {
+                LOG.debugf(e, "No fue posible leer la configuración desde %s", uri);
+                failure = e;
+            }
+        }
+        throw failure != null ? failure : new IOException("No hay servidores configurados");
+    }
+
+    /*
+     * Con TLS envía Basic de forma preventiva; sin TLS envía la solicitud sin
+     * credenciales y solo responde a un desafío Digest.
+     */
+    private String fetch(HttpClient client, URI uri, boolean authenticate, boolean secure)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Accept", "application/json")
+                .timeout(REST_TIMEOUT)
+                .GET();
+        if (authenticate && secure) {
+            String credentials = username.get() + ":" + password.orElse("");
+            request.header("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 401 && authenticate && !secure) {
+            String path = uri.getRawPath() + "?" + uri.getRawQuery();
+            String challenge = response.headers().allValues("WWW-Authenticate").stream()
+                    .filter(DigestAuth::isDigest)
+                    .findFirst()
+                    .orElseThrow(() -> new IOException(
+                            "El servidor no ofrece Digest y no se envían credenciales en claro sin TLS"));
+            request.header("Authorization",
+                    DigestAuth.authorization(challenge, "GET", path, username.get(), password.orElse("")));
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("El servidor respondió " + response.statusCode() + " al leer la configuración");
+        }
+        return response.body();
+    }
+
+    /*
+     * Contexto TLS del cliente Hot Rod: el configurado, o uno con su almacén
+     * de confianza, o el del JVM.
+     */
+    private static SSLContext sslContext(SslConfiguration ssl) throws IOException {
+        try {
+            if (ssl.sslContext() != null) {
+                return ssl.sslContext();
+            }
+            if (ssl.trustStoreFileName() == null) {
+                return SSLContext.getDefault();
+            }
+            KeyStore trustStore = KeyStore.getInstance(ssl.trustStoreType() != null
+                    ? ssl.trustStoreType() : KeyStore.getDefaultType());
+            try (InputStream in = Files.newInputStream(Path.of(ssl.trustStoreFileName()))) {
+                trustStore.load(in, ssl.trustStorePassword());
+            }
+            TrustManagerFactory trustManagers = TrustManagerFactory
+                    .getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagers.init(trustStore);
+            SSLContext context = SSLContext.getInstance(ssl.protocol() != null ? ssl.protocol() : "TLS");
+            context.init(null, trustManagers.getTrustManagers(), null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("No fue posible crear el contexto TLS", e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.acme.services.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.Client;
+import org.acme.model.ClientCache;
+import org.acme.model.ClientRow;
+import org.acme.model.WarmupStatus;
+import org.acme.services.CacheService;
+import org.acme.services.CacheWarmupService;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Clase que precarga la caché CLIENT-LIST desde PostgreSQL.
+ *
+ * Recorre la tabla Client por páginas (keyset sobre el id) con Hibernate
+ * Reactive y escribe cada página con un único putAll, manteniendo como máximo
+ * el número configurado de escrituras en curso. Se ejecuta al iniciar (si está
+ * habilitado) o a demanda desde el endpoint de administración.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class CacheWarmupImpl implements CacheWarmupService {
+
+    private static final Logger LOG = Logger.getLogger(CacheWarmupImpl.class);
+
+    private static final String IDLE = "IDLE";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final Vertx vertx;
+    private final Mutiny.SessionFactory sessionFactory;
+    private final CacheService cacheService;
+    private final boolean onStart;
+    private final int pageSize;
+    private final int concurrency;
+
+    private final AtomicReference<String> state = new AtomicReference<>(IDLE);
+    private final AtomicLong rowsLoaded = new AtomicLong();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String error;
+
+    @Inject
+    public CacheWarmupImpl(Vertx vertx, Mutiny.SessionFactory sessionFactory, CacheService cacheService, MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.warmup.on-start", defaultValue = "false") boolean onStart,
+            @ConfigProperty(name = "client.cache.warmup.page-size", defaultValue = "1000") int pageSize,
+            @ConfigProperty(name = "client.cache.warmup.concurrency", defaultValue = "4") int concurrency) {
+        this.vertx = vertx;
+        this.sessionFactory = sessionFactory;
+        this.cacheService = cacheService;
+        this.onStart = onStart;
+        this.pageSize = pageSize;
+        this.concurrency = concurrency;
+
+        registry.gauge("client.cache.warmup.rows", rowsLoaded);
+        registry.gauge("client.cache.warmup.rows-per-second", this, warmup -> warmup.status().rowsPerSecond());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (onStart) {
+            start();
+        }
+    }
+
+    /*
+     * Inicia el precargue en segundo plano.
+     * @return boolean false si ya hay un precargue en curso.
+     *
+     */
+    @Override
+    public boolean start() {
+        String previous = state.get();
+        if (RUNNING.equals(previous) || !state.compareAndSet(previous, RUNNING)) {
+            return false;
+        }
+
+        rowsLoaded.set(0);
+        error = null;
+        startedAt = System.nanoTime();
+        finishedAt = 0L;
+        LOG.infof("Iniciando precargue de la caché (página %d, concurrencia %d)", pageSize, concurrency);
+
+        Context ctx = VertxContext.getOrCreateDuplicatedContext(vertx);
+        ctx.runOnContext(v -> pages(ctx)
+            .onItem().transformToUni(this::putPage).merge(concurrency)
+            .onItem().ignoreAsUni()
+            .subscribe().with(
+                ignored -> finish(COMPLETED, null),
+                err -> finish(FAILED, err)
+            ));
+        return true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return RUNNING.equals(state.get());
+    }
+
+    /*
+     * @return WarmupStatus El progreso y la velocidad del precargue actual o del último.
+     *
+     */
+    @Override
+    public WarmupStatus status() {
+        long start = startedAt;
+        long end = finishedAt == 0L ? System.nanoTime() : finishedAt;
+        long elapsed = start == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(end - start);
+        long rows = rowsLoaded.get();
+        double rate = elapsed == 0L ? 0.0 : rows * 1000.0 / elapsed;
+        return new WarmupStatus(state.get(), rows, elapsed, rate, error);
+    }
+
+    /*
+     * Recorre la tabla Client por páginas, proyectadas en sesiones sin
+     * estado (sin entidades administradas). Cada página se consulta en el
+     * contexto de Vert.x indicado, aunque la solicitud de la siguiente llegue
+     * desde el hilo de Hot Rod que confirmó una escritura.
+     * @return Multi<List<ClientRow>> Las páginas de clientes, en orden de id.
+     * @param ctx El contexto de Vert.x de la sesión de Hibernate Reactiva.
+     *
+     */
+    private Multi<List<ClientRow>> pages(Context ctx) {
+        return Multi.createBy().repeating()
+                .uni(() -> new AtomicLong(0L), lastId -> Uni.createFrom()
+                        .deferred(() -> sessionFactory.withStatelessSession(
+                                session -> Client.findRowsAfter(session, lastId.get(), pageSize)))
+                        .runSubscriptionOn(command -> ctx.runOnContext(x -> command.run()))
+                        .invoke(page -> {
+                            if (!page.isEmpty()) {
+                                lastId.set(page.get(page.size() - 1).id());
+                            }
+                        }))
+                .whilst(page -> page.size() == pageSize);
+    }
+
+    private Uni<Void> putPage(List<ClientRow> page) {
+        Map<String, ClientCache> clients = new HashMap<>();
+        page.forEach(row -> clients.put(row.client().document, row.client()));
+        return cacheService.putAllIfAbsentAsyncData(clients)
+                .invoke(() -> {
+                    long total = rowsLoaded.addAndGet(clients.size());
+                    LOG.debugf("Precargue: %d filas en caché", total);
+                });
+    }
+
+    private void finish(String result, Throwable err) {
+        finishedAt = System.nanoTime();
+        error = err == null ? null : err.getMessage();
+        state.set(result);
+        WarmupStatus status = status();
+        if (err == null) {
+            LOG.infof("Precargue completado: %d filas en %d ms (%.0f filas/s)",
+                    status.rowsLoaded(), status.elapsedMillis(), status.rowsPerSecond());
+        } else {
+            LOG.error("El precargue de la caché falló tras " + status.rowsLoaded() + " filas", err);
+        }
+    }
+}
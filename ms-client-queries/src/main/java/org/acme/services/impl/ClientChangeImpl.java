@@ -0,0 +1,474 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.Client;
+import org.acme.model.ClientCache;
+import org.acme.model.ClientRow;
+import org.acme.services.CacheService;
+import org.acme.services.ClientChangeService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Clase que propaga a la caché los cambios de la tabla Client.
+ *
+ * Un trigger de PostgreSQL notifica por el canal configurado cada documento
+ * insertado, actualizado o eliminado junto con la versión de la fila
+ * ({@code OPERACION:versión:documento}). Las notificaciones se escuchan con
+ * LISTEN desde el cliente reactivo y se agrupan por tamaño o ventana de
+ * tiempo, de forma que una ráfaga de cambios se aplica en un solo lote.
+ *
+ * Todas las instancias reciben cada notificación. Cada una invalida lo que
+ * guarda en memoria (near cache, caché negativa local y filtro de Bloom),
+ * pero la caché compartida del grid solo la actualiza la instancia que tiene
+ * el bloqueo consultivo del canal en su conexión LISTEN; si esa conexión se
+ * cae, el bloqueo se libera y otra instancia lo toma en su siguiente lote.
+ * Con un backend propio de cada instancia (local o embebido sin clúster),
+ * cada una actualiza el suyo.
+ *
+ * La caché nunca se actualiza con una eliminación simple, que perdería la
+ * versión y dejaría que un llenado concurrente con una lectura anterior al
+ * cambio se quedara en la caché durante todo su lifespan. En modo
+ * {@code invalidate} solo se recargan, con reemplazo condicional por
+ * versión, las entradas presentes con una versión anterior a la notificada;
+ * la escritura del propio servicio (que ya dejó la versión nueva) se
+ * conserva. En modo {@code refresh} se recargan todas las entradas
+ * cambiadas. Los clientes eliminados sí se eliminan de la caché.
+ *
+ * Las notificaciones emitidas mientras la conexión LISTEN está caída se
+ * pierden. Al reconectar se resincroniza: se vacía lo que esta instancia
+ * guarda en memoria (o también CLIENT-LIST en el grid, según
+ * {@code client.cache.invalidation.resync}), la caché negativa y el filtro
+ * de Bloom, que se reconstruye desde la BD.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class ClientChangeImpl implements ClientChangeService {
+
+    private static final Logger LOG = Logger.getLogger(ClientChangeImpl.class);
+
+    private static final String MODE_REFRESH = "refresh";
+    private static final String OP_INSERT = "INSERT";
+    private static final String OP_DELETE = "DELETE";
+    private static final String RESYNC_ALL = "all";
+
+    private static final String CREATE_FUNCTION = """
+            CREATE OR REPLACE FUNCTION client_notify_change() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'INSERT' THEN
+                    PERFORM pg_notify(TG_ARGV[0], TG_OP || ':' || NEW.version || ':' || NEW.document);
+                ELSIF TG_OP = 'UPDATE' AND NEW.document IS DISTINCT FROM OLD.document THEN
+                    PERFORM pg_notify(TG_ARGV[0], 'DELETE:' || OLD.version || ':' || OLD.document);
+                    PERFORM pg_notify(TG_ARGV[0], 'INSERT:' || NEW.version || ':' || NEW.document);
+                ELSIF TG_OP = 'UPDATE' THEN
+                    PERFORM pg_notify(TG_ARGV[0], TG_OP || ':' || NEW.version || ':' || NEW.document);
+                ELSE
+                    PERFORM pg_notify(TG_ARGV[0], TG_OP || ':' || OLD.version || ':' || OLD.document);
+                END IF;
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql""";
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('client_change_notify'))";
+
+    /* Bloqueo de sesión que elige a la instancia que actualiza el grid. */
+    private static final String LEADER_LOCK = "SELECT pg_try_advisory_lock(hashtext('client_change_grid:' || $1))";
+
+    /* Versión desconocida (notificación sin versión): cualquier entrada se considera anterior. */
+    private static final long UNKNOWN_VERSION = Long.MAX_VALUE;
+
+    private static final String DROP_TRIGGER = "DROP TRIGGER IF EXISTS client_change_notify ON client";
+
+    private static final String CREATE_TRIGGER = """
+            CREATE TRIGGER client_change_notify
+            AFTER INSERT OR UPDATE OR DELETE ON client
+            FOR EACH ROW EXECUTE FUNCTION client_notify_change('%s')""";
+
+    private final Vertx vertx;
+    private final PgPool pool;
+    private final Mutiny.SessionFactory sessionFactory;
+    private final CacheService cacheService;
+    private final NegativeCacheService negativeCacheService;
+    private final DocumentFilterService documentFilterService;
+    private final boolean enabled;
+    private final String channel;
+    private final boolean installTrigger;
+    private final boolean refresh;
+    private final int batchSize;
+    private final Duration batchWindow;
+    private final boolean resyncShared;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile MultiEmitter<? super String> notifications;
+    private volatile PgSubscriber subscriber;
+    private volatile boolean listening;
+    private volatile boolean leader;
+
+    /* Si ya hubo una suscripción; solo se usa en el contexto del suscriptor. */
+    private boolean connected;
+
+    private final Counter received;
+    private final Counter batches;
+    private final Counter keys;
+    private final Counter resyncs;
+
+    @Inject
+    public ClientChangeImpl(Vertx vertx, PgPool pool, Mutiny.SessionFactory sessionFactory, CacheService cacheService,
+            NegativeCacheService negativeCacheService, DocumentFilterService documentFilterService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.invalidation.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "client.cache.invalidation.channel", defaultValue = "client_changes") String channel,
+            @ConfigProperty(name = "client.cache.invalidation.install-trigger", defaultValue = "true") boolean installTrigger,
+            @ConfigProperty(name = "client.cache.invalidation.mode", defaultValue = "invalidate") String mode,
+            @ConfigProperty(name = "client.cache.invalidation.batch-size", defaultValue = "500") int batchSize,
+            @ConfigProperty(name = "client.cache.invalidation.batch-window", defaultValue = "50ms") Duration batchWindow,
+            @ConfigProperty(name = "client.cache.invalidation.resync", defaultValue = "near") String resync,
+            @ConfigProperty(name = "quarkus.datasource.reactive.url", defaultValue = "") String url,
+            @ConfigProperty(name = "quarkus.datasource.username", defaultValue = "") String username,
+            @ConfigProperty(name = "quarkus.datasource.password", defaultValue = "") String password) {
+        this.vertx = vertx;
+        this.pool = pool;
+        this.sessionFactory = sessionFactory;
+        this.cacheService = cacheService;
+        this.negativeCacheService = negativeCacheService;
+        this.documentFilterService = documentFilterService;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.installTrigger = installTrigger;
+        this.refresh = MODE_REFRESH.equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+        this.resyncShared = RESYNC_ALL.equalsIgnoreCase(resync);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+
+        this.received = Counter.builder("client.cache.changes")
+                .description("Notificaciones de cambios recibidas desde PostgreSQL")
+                .register(registry);
+        this.batches = Counter.builder("client.cache.changes.batches")
+                .description("Lotes de cambios aplicados a la caché")
+                .register(registry);
+        this.keys = Counter.builder("client.cache.invalidations")
+                .tag("tier", "change-feed")
+                .register(registry);
+        this.resyncs = Counter.builder("client.cache.changes.resyncs")
+                .description("Resincronizaciones de la caché tras reconectar la conexión LISTEN")
+                .register(registry);
+        registry.gauge("client.cache.changes.leader", this, impl -> impl.leader ? 1 : 0);
+    }
+
+    /*
+     * Instala el trigger (si está habilitado) y se suscribe al canal de cambios.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (url.isBlank()) {
+            LOG.warn("No hay URL reactiva del datasource, la invalidación por cambios queda deshabilitada");
+            return;
+        }
+
+        Uni<Void> trigger = installTrigger ? installTrigger() : Uni.createFrom().voidItem();
+        trigger.subscribe().with(ignored -> consume(), err -> {
+            LOG.warn("No fue posible instalar el trigger de cambios de Client", err);
+            consume();
+        });
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        MultiEmitter<? super String> emitter = notifications;
+        if (emitter != null) {
+            emitter.complete();
+        }
+    }
+
+    @Override
+    public boolean isListening() {
+        return listening;
+    }
+
+    /*
+     * Aplica un lote de notificaciones: deduplica los documentos (con la
+     * mayor versión notificada), invalida lo que esta instancia guarda en
+     * memoria y, si le corresponde, actualiza la caché con escrituras
+     * condicionadas por versión.
+     * @return Uni<Void> Finaliza cuando la caché refleja los cambios.
+     * @param payloads Las notificaciones recibidas, en formato OPERACION:versión:documento.
+     *
+     */
+    @Override
+    public Uni<Void> applyChanges(List<String> payloads) {
+        Map<String, Long> changed = new HashMap<>();
+        Set<String> deleted = new HashSet<>();
+        for (String payload : payloads) {
+            String[] parts = payload.split(":", 3);
+            if (parts.length < 2) {
+                continue;
+            }
+            String operation = parts[0];
+            String document = parts[parts.length - 1];
+            long version = parts.length == 3 ? parseVersion(parts[1]) : UNKNOWN_VERSION;
+            if (OP_INSERT.equals(operation)) {
+                documentFilterService.add(document);
+            }
+            if (OP_DELETE.equals(operation)) {
+                deleted.add(document);
+            } else {
+                deleted.remove(document);
+            }
+            changed.merge(document, version, Math::max);
+        }
+        if (changed.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        LOG.infof("Aplicando %d cambios de Client (%d notificaciones)", changed.size(), payloads.size());
+        batches.increment();
+        keys.increment(changed.size());
+        cacheService.invalidateNear(changed.keySet());
+
+        List<Uni<Void>> negatives = changed.keySet().stream()
+                .filter(document -> !deleted.contains(document))
+                .map(negativeCacheService::invalidate)
+                .toList();
+        Uni<Void> negative = negatives.isEmpty()
+                ? Uni.createFrom().voidItem()
+                : Uni.join().all(negatives).andCollectFailures().replaceWithVoid();
+
+        Uni<Void> cache = ownsCache().chain(owner -> {
+            if (!owner) {
+                return Uni.createFrom().voidItem();
+            }
+            Map<String, Long> updated = new HashMap<>(changed);
+            updated.keySet().removeAll(deleted);
+            Uni<Void> reloaded = refresh ? reload(updated.keySet()) : reloadStale(updated);
+            return Uni.combine().all().unis(reloaded, cacheService.invalidateAll(deleted)).discardItems();
+        });
+        return Uni.combine().all().unis(negative, cache).discardItems();
+    }
+
+    /*
+     * Indica si esta instancia debe actualizar la caché: siempre si la caché
+     * es propia de la instancia; si es compartida, solo si tiene (o logra
+     * tomar) el bloqueo consultivo del canal en su conexión LISTEN.
+     * @return Uni<Boolean> true si esta instancia actualiza la caché.
+     *
+     */
+    private Uni<Boolean> ownsCache() {
+        PgSubscriber current = subscriber;
+        if (!cacheService.isShared() || leader) {
+            return Uni.createFrom().item(true);
+        }
+        if (current == null || current.actualConnection() == null) {
+            return Uni.createFrom().item(false);
+        }
+        return Uni.createFrom().completionStage(() -> current.actualConnection()
+                        .preparedQuery(LEADER_LOCK)
+                        .execute(Tuple.of(channel))
+                        .toCompletionStage())
+                .map(rows -> rows.iterator().next().getBoolean(0))
+                .invoke(acquired -> {
+                    if (acquired) {
+                        leader = true;
+                        LOG.info("Esta instancia actualiza CLIENT-LIST con los cambios del canal " + channel);
+                    }
+                })
+                .onFailure().invoke(err -> LOG.warn("No fue posible tomar el bloqueo de cambios", err))
+                .onFailure().recoverWithItem(false);
+    }
+
+    /*
+     * Recarga solo las entradas presentes en la caché con una versión anterior
+     * a la notificada. Las ausentes no se tocan: el siguiente fallo las lee de
+     * la BD.
+     * @return Uni<Void> Finaliza cuando la caché queda actualizada.
+     * @param versions La versión notificada por documento.
+     *
+     */
+    private Uni<Void> reloadStale(Map<String, Long> versions) {
+        if (versions.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return cacheService.getAllAsyncData(versions.keySet())
+                .chain(cached -> {
+                    Set<String> stale = new HashSet<>();
+                    cached.forEach((document, client) -> {
+                        if (client.version < versions.get(document)) {
+                            stale.add(document);
+                        }
+                    });
+                    return reload(stale);
+                });
+    }
+
+    /*
+     * Recarga desde la BD las entradas cambiadas y elimina las que ya no existen.
+     * Cada recarga reemplaza la entrada solo si la caché no tiene ya una
+     * versión más reciente del cliente.
+     * @return Uni<Void> Finaliza cuando la caché queda actualizada.
+     * @param documents Los documentos cambiados.
+     *
+     */
+    private Uni<Void> reload(Set<String> documents) {
+        if (documents.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        Context ctx = VertxContext.getOrCreateDuplicatedContext(vertx);
+        return Uni.createFrom().deferred(() -> sessionFactory.withStatelessSession(
+                        session -> Client.findRowsByDocuments(session, documents)))
+                .runSubscriptionOn(command -> ctx.runOnContext(v -> command.run()))
+                .chain(rows -> {
+                    Map<String, ClientCache> found = new HashMap<>();
+                    rows.forEach(row -> found.put(row.client().document, row.client()));
+                    Set<String> gone = new HashSet<>(documents);
+                    gone.removeAll(found.keySet());
+                    List<Uni<Boolean>> reloads = found.entrySet().stream()
+                            .map(entry -> cacheService.replaceIfNewer(entry.getKey(), entry.getValue()))
+                            .toList();
+                    Uni<Void> reloaded = reloads.isEmpty()
+                            ? Uni.createFrom().voidItem()
+                            : Uni.join().all(reloads).andCollectFailures().replaceWithVoid();
+                    return Uni.combine().all()
+                            .unis(reloaded, cacheService.invalidateAll(gone))
+                            .discardItems();
+                });
+    }
+
+    /*
+     * Instala la función y el trigger en una sola transacción, de modo que la
+     * tabla nunca queda sin trigger entre el DROP y el CREATE. El bloqueo
+     * consultivo serializa la instalación entre varias instancias que
+     * arrancan a la vez.
+     * @return Uni<Void> Finaliza cuando la transacción se confirma.
+     *
+     */
+    private Uni<Void> installTrigger() {
+        return pool.withTransaction(conn -> conn.query(LOCK).execute()
+                        .chain(() -> conn.query(CREATE_FUNCTION).execute())
+                        .chain(() -> conn.query(DROP_TRIGGER).execute())
+                        .chain(() -> conn.query(CREATE_TRIGGER.formatted(channel)).execute()))
+                .invoke(() -> LOG.info("Trigger de cambios de Client instalado en el canal " + channel))
+                .replaceWithVoid();
+    }
+
+    /*
+     * Agrupa y aplica las notificaciones del canal. La conexión LISTEN se
+     * abre al suscribirse y se cierra al completar el flujo.
+     *
+     */
+    private void consume() {
+        Multi.createFrom().<String>emitter(this::listen)
+                .group().intoLists().of(batchSize, batchWindow)
+                .onItem().transformToUniAndConcatenate(batch -> applyChanges(batch)
+                        .onFailure().invoke(err -> LOG.warnf(err, "No fue posible aplicar %d cambios", batch.size()))
+                        .onFailure().recoverWithNull())
+                .subscribe().with(ignored -> { }, err -> LOG.error("El flujo de cambios terminó con error", err));
+    }
+
+    /*
+     * Abre la conexión dedicada a LISTEN, reconectando cada segundo si se cae,
+     * y emite cada notificación recibida.
+     * @param emitter El emisor del flujo de notificaciones.
+     *
+     */
+    private void listen(MultiEmitter<? super String> emitter) {
+        PgConnectOptions options = PgConnectOptions.fromUri(url.replaceFirst("^vertx-reactive:", ""));
+        if (!username.isBlank()) {
+            options.setUser(username);
+        }
+        if (!password.isBlank()) {
+            options.setPassword(password);
+        }
+
+        PgSubscriber subscriber = PgSubscriber.subscriber(vertx, options)
+                .reconnectPolicy(retries -> 1000L);
+        subscriber.closeHandler(v -> {
+            listening = false;
+            leader = false;
+            LOG.warn("Conexión LISTEN de cambios cerrada, reintentando");
+        });
+        subscriber.channel(channel)
+                .subscribeHandler(v -> {
+                    if (connected) {
+                        resync();
+                    }
+                    connected = true;
+                    listening = true;
+                    LOG.info("Escuchando cambios de Client en el canal " + channel);
+                })
+                .handler(payload -> {
+                    received.increment();
+                    emitter.emit(payload);
+                });
+        emitter.onTermination(subscriber::close);
+        notifications = emitter;
+        this.subscriber = subscriber;
+        subscriber.connect().onFailure(err -> LOG.warn("No fue posible escuchar el canal " + channel, err));
+    }
+
+    /*
+     * Descarta el estado que pudo quedar obsoleto por las notificaciones
+     * perdidas mientras la conexión LISTEN estuvo caída. El filtro de Bloom
+     * se descarta antes de volver a escuchar, para que ningún documento
+     * insertado en ese intervalo se rechace.
+     *
+     */
+    private static long parseVersion(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private void resync() {
+        LOG.warn("Conexión LISTEN restablecida, resincronizando la caché de clientes");
+        resyncs.increment();
+        documentFilterService.reset();
+        Uni.combine().all()
+                .unis(cacheService.clear(resyncShared), negativeCacheService.invalidateAll())
+                .discardItems()
+                .subscribe().with(
+                    ignored -> { },
+                    err -> LOG.warn("No fue posible resincronizar la caché tras reconectar", err)
+                );
+    }
+}
@@ -0,0 +1,120 @@
+package org.acme.services.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.Client;
+import org.acme.model.ClientRow;
+import org.acme.model.ClientSummary;
+import org.acme.services.ClientExportService;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Clase que exporta todos los clientes de la BD como un flujo.
+ *
+ * Recorre la tabla Client por páginas (keyset sobre el id), cada una
+ * proyectada en su propia sesión sin estado de Hibernate Reactiva (sin
+ * entidades administradas ni copias para el dirty-checking), y solo consulta la siguiente página
+ * cuando el consumidor la solicita. El flujo no incluye la tarjeta de
+ * crédito de los clientes. Así la memoria usada depende del tamaño
+ * de página y no del tamaño de la tabla, y un cliente HTTP lento frena la
+ * lectura en lugar de acumular filas.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class ClientExportImpl implements ClientExportService {
+
+    private static final Logger LOG = Logger.getLogger(ClientExportImpl.class);
+
+    private final Vertx vertx;
+    private final Mutiny.SessionFactory sessionFactory;
+    private final int pageSize;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rows;
+
+    @Inject
+    public ClientExportImpl(Vertx vertx, Mutiny.SessionFactory sessionFactory, MeterRegistry registry,
+            @ConfigProperty(name = "client.export.page-size", defaultValue = "1000") int pageSize) {
+        this.vertx = vertx;
+        this.sessionFactory = sessionFactory;
+        this.pageSize = pageSize;
+
+        this.rows = Counter.builder("client.export.rows")
+                .description("Filas de clientes exportadas")
+                .register(registry);
+        registry.gauge("client.export.active", active);
+    }
+
+    /*
+     * Flujo con todos los clientes, en orden de id.
+     * @return Multi<ClientSummary> Los clientes, emitidos a medida que se solicitan.
+     *
+     */
+    @Override
+    public Multi<ClientSummary> exportClients() {
+        Context current = Vertx.currentContext();
+        Context ctx = current != null ? current : VertxContext.getOrCreateDuplicatedContext(vertx);
+        AtomicLong exported = new AtomicLong();
+        long[] startedAt = new long[1];
+
+        return pages(ctx)
+                .onSubscription().invoke(() -> {
+                    active.incrementAndGet();
+                    startedAt[0] = System.nanoTime();
+                    LOG.info("Iniciando exportación de clientes");
+                })
+                .onItem().<ClientRow>disjoint()
+                .map(row -> {
+                    exported.incrementAndGet();
+                    rows.increment();
+                    return ClientSummary.from(row.client());
+                })
+                .onTermination().invoke((err, cancelled) -> {
+                    active.decrementAndGet();
+                    long elapsed = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt[0]));
+                    String result = err != null ? "falló" : cancelled ? "cancelada" : "completada";
+                    LOG.infof("Exportación %s: %d filas en %d ms (%.0f filas/s)",
+                            result, exported.get(), elapsed, exported.get() * 1000.0 / elapsed);
+                });
+    }
+
+    /*
+     * Recorre la tabla Client por páginas en el contexto de Vert.x indicado.
+     * @return Multi<List<ClientRow>> Las páginas de clientes, en orden de id.
+     * @param ctx El contexto de Vert.x de la sesión de Hibernate Reactiva.
+     *
+     */
+    private Multi<List<ClientRow>> pages(Context ctx) {
+        return Multi.createBy().repeating()
+                .uni(() -> new AtomicLong(0L), lastId -> Uni.createFrom()
+                        .deferred(() -> sessionFactory.withStatelessSession(
+                                session -> Client.findRowsAfter(session, lastId.get(), pageSize)))
+                        .runSubscriptionOn(command -> ctx.runOnContext(x -> command.run()))
+                        .invoke(page -> {
+                            if (!page.isEmpty()) {
+                                lastId.set(page.get(page.size() - 1).id());
+                            }
+                        }))
+                .whilst(page -> page.size() == pageSize);
+    }
+}
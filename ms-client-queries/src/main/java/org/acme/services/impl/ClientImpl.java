@@ -1,18 +1,47 @@
 package org.acme.services.impl;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+import org.acme.services.CacheFillService;
 import org.acme.services.CacheService;
 import org.acme.services.ClientService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+import org.acme.services.SnapshotService;
 import org.acme.model.Client;
 import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.ClientLookup;
+import org.acme.model.ClientUpdateRequest;
+import org.acme.utils.ContextExecutor;
+import org.acme.utils.HedgePolicy;
+import org.acme.utils.StageTimer;
+import org.acme.utils.XFetchPolicy;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 
+import org.hibernate.reactive.mutiny.Mutiny;
 import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import io.vertx.core.Vertx;
 import io.vertx.core.Context;
 
@@ -26,11 +55,68 @@ import io.vertx.core.Context;
  * 
  * La gestión del contexto de Vert.x se maneja cuidadosamente para asegurar
  * que las operaciones asíncronas interactúen correctamente con el event-loop
- * original.
+ * original. Los resultados se reenvían al contexto solo cuando llegan desde
+ * un hilo ajeno; si ya están en él, el pipeline continúa sin cambiar de hilo.
+ * 
+ * Las consultas concurrentes que fallan en la caché para un mismo documento
+ * se agrupan en una sola carga desde la BD (single-flight), evitando la
+ * estampida de consultas y escrituras idénticas tras un reinicio del grid.
+ * 
+ * El llenado de la caché tras una lectura a la BD puede esperar la escritura
+ * o hacerse en segundo plano, según la configuración de CacheFillService.
+ * 
+ * Los documentos inexistentes se registran en una caché negativa para que las
+ * consultas repetidas no lleguen a la BD.
+ * 
+ * Antes de cualquier I/O se consulta un filtro de Bloom con los documentos
+ * conocidos; los documentos que definitivamente no existen responden vacío
+ * de inmediato.
+ * 
+ * Con refresh-ahead habilitado, una entrada leída cerca de su expiración se
+ * recarga desde la BD en segundo plano, de modo que las claves calientes no
+ * expiran en un fallo síncrono.
+ * 
+ * Con XFetch habilitado, cada acierto decide además de forma probabilística
+ * si recargar la entrada antes de tiempo, según su vida restante y el costo
+ * observado de las cargas desde la BD. Así, cuando una clave caliente está
+ * por expirar, normalmente una sola lectura la recarga y el resto no llega a
+ * fallar en bloque.
+ * 
+ * Con hedging habilitado, si la caché no responde dentro del percentil
+ * configurado de su propia latencia reciente, se lanza en paralelo la lectura
+ * a la BD y se toma la primera respuesta, con un tope sobre la tasa de
+ * lecturas cubiertas.
+ * 
+ * Si la consulta falla (RH DataGrid y PostgreSQL no disponibles) y hay un
+ * snapshot local habilitado, el cliente se lee del snapshot y la entrada
+ * queda marcada para que la respuesta lo indique.
+ * 
+ * Cada etapa de la consulta (lectura a la caché, consulta a la BD y llenado
+ * de la caché) y la consulta completa se miden con timers de Micrometer
+ * etiquetados por resultado.
+ * 
+ * Las actualizaciones se escriben primero en la BD (con control de versión
+ * optimista) y luego en la caché, reemplazando la entrada solo si no hay ya
+ * una versión más reciente del cliente.
+ * 
+ * En modo read-through, CLIENT-LIST resuelve los fallos contra la BD con un
+ * cargador JDBC en el servidor: un fallo en la caché significa que el cliente
+ * no existe y el servicio no consulta la BD. Las consultas por correo y
+ * teléfono, la recarga anticipada y las lecturas cubiertas siguen usando la
+ * BD directamente.
+ * 
+ * Las consultas por correo y teléfono resuelven primero contra los índices
+ * de la caché y, si no hay resultado, consultan la BD por la columna
+ * indexada y almacenan el cliente en la caché.
+ * 
+ * Las lecturas a la BD proyectan las filas directamente a ClientCache en una
+ * sesión sin estado, sin cargar entidades administradas en un contexto de
+ * persistencia ni guardar su copia para el dirty-checking. Solo la
+ * actualización carga la entidad Client.
  * 
  * @author Felipe Malaver
  * @since 2025-12-09
- * @version 1.0
+ * @version 1.1
  */
 
 @ApplicationScoped
@@ -38,11 +124,115 @@ public class ClientImpl implements ClientService {
 
     private static final Logger LOG = Logger.getLogger(ClientImpl.class);
 
+    private static final String SELECT_CACHE = "select new org.acme.model.ClientCache(c.document, c.documentType, "
+            + "c.name, c.phone, c.email, c.address, c.creditCard, c.version) from Client c ";
+
+    private final Vertx vertx;
+    private final Mutiny.SessionFactory sessionFactory;
+
     private final CacheService cacheService;
+    private final CacheFillService cacheFillService;
+    private final NegativeCacheService negativeCacheService;
+    private final DocumentFilterService documentFilterService;
+    private final SnapshotService snapshotService;
+
+    /* Cargas desde la BD en curso, indexadas por documento. */
+    private final ConcurrentMap<String, CompletableFuture<Optional<ClientCacheEntry>>> inFlight = new ConcurrentHashMap<>();
+
+    private final boolean refreshAheadEnabled;
+    private final double refreshAheadThreshold;
+
+    private final boolean xfetchEnabled;
+    private final XFetchPolicy xfetchPolicy;
+
+    private final boolean hedgeEnabled;
+    private final HedgePolicy hedgePolicy;
+
+    private final Counter coalescedLoads;
+    private final Counter refreshAheads;
+    private final Counter xfetchRefreshes;
+    private final Counter snapshotRefreshes;
+    private final Counter hedges;
+    private final Counter hedgeCacheWins;
+    private final Counter hedgeDbWins;
+    private final Counter contextInline;
+    private final Counter contextHops;
+    private final ContextExecutor inlineExecutor;
+    private final Counter snapshotReads;
+
+    private final StageTimer lookupTimer;
+    private final StageTimer cacheGetTimer;
+    private final StageTimer dbFindTimer;
+    private final StageTimer cachePutTimer;
 
     @Inject
-    public ClientImpl(CacheService cacheService) {
+    public ClientImpl(Vertx vertx, Mutiny.SessionFactory sessionFactory, CacheService cacheService, CacheFillService cacheFillService, NegativeCacheService negativeCacheService,
+            DocumentFilterService documentFilterService, SnapshotService snapshotService, MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.refresh-ahead.enabled", defaultValue = "false") boolean refreshAheadEnabled,
+            @ConfigProperty(name = "client.cache.refresh-ahead.threshold", defaultValue = "0.2") double refreshAheadThreshold,
+            @ConfigProperty(name = "client.cache.xfetch.enabled", defaultValue = "false") boolean xfetchEnabled,
+            @ConfigProperty(name = "client.cache.xfetch.beta", defaultValue = "1.0") double xfetchBeta,
+            @ConfigProperty(name = "client.cache.xfetch.initial-delta", defaultValue = "20ms") Duration xfetchInitialDelta,
+            @ConfigProperty(name = "client.hedge.enabled", defaultValue = "false") boolean hedgeEnabled,
+            @ConfigProperty(name = "client.hedge.percentile", defaultValue = "0.95") double hedgePercentile,
+            @ConfigProperty(name = "client.hedge.min-delay", defaultValue = "5ms") Duration hedgeMinDelay,
+            @ConfigProperty(name = "client.hedge.max-rate", defaultValue = "0.1") double hedgeMaxRate) {
+        this.vertx = vertx;
+        this.sessionFactory = sessionFactory;
         this.cacheService = cacheService;
+        this.cacheFillService = cacheFillService;
+        this.negativeCacheService = negativeCacheService;
+        this.documentFilterService = documentFilterService;
+        this.snapshotService = snapshotService;
+        this.refreshAheadEnabled = refreshAheadEnabled;
+        this.refreshAheadThreshold = refreshAheadThreshold;
+        this.xfetchEnabled = xfetchEnabled;
+        this.xfetchPolicy = new XFetchPolicy(xfetchBeta, xfetchInitialDelta.toNanos());
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePolicy = new HedgePolicy(hedgePercentile, hedgeMinDelay.toNanos(), hedgeMaxRate);
+        this.hedges = Counter.builder("client.lookup.hedge")
+                .description("Lecturas a la BD lanzadas por demora de la caché")
+                .register(registry);
+        this.hedgeCacheWins = Counter.builder("client.lookup.hedge.wins")
+                .tag("source", "cache")
+                .register(registry);
+        this.hedgeDbWins = Counter.builder("client.lookup.hedge.wins")
+                .tag("source", "db")
+                .register(registry);
+        registry.gauge("client.lookup.hedge.delay", hedgePolicy,
+                policy -> TimeUnit.NANOSECONDS.toMillis(policy.delayNanos()));
+        this.refreshAheads = Counter.builder("client.cache.refresh-ahead")
+                .description("Recargas en segundo plano de entradas próximas a expirar")
+                .tag("trigger", "threshold")
+                .register(registry);
+        this.xfetchRefreshes = Counter.builder("client.cache.refresh-ahead")
+                .description("Recargas en segundo plano de entradas próximas a expirar")
+                .tag("trigger", "xfetch")
+                .register(registry);
+        this.snapshotRefreshes = Counter.builder("client.cache.refresh-ahead")
+                .description("Recargas en segundo plano de entradas próximas a expirar")
+                .tag("trigger", "snapshot")
+                .register(registry);
+        registry.gauge("client.cache.xfetch.delta", xfetchPolicy,
+                policy -> TimeUnit.NANOSECONDS.toMillis(policy.deltaNanos()));
+        this.coalescedLoads = Counter.builder("client.lookup.coalesced")
+                .description("Consultas que reutilizaron una carga desde la BD en curso")
+                .register(registry);
+        registry.gaugeMapSize("client.lookup.in-flight", Tags.empty(), inFlight);
+        this.lookupTimer = new StageTimer(registry, "client.lookup", "total");
+        this.cacheGetTimer = new StageTimer(registry, "client.lookup.stage", "cache.get");
+        this.dbFindTimer = new StageTimer(registry, "client.lookup.stage", "db.find");
+        this.cachePutTimer = new StageTimer(registry, "client.lookup.stage", "cache.put");
+        this.snapshotReads = Counter.builder("client.lookup.snapshot")
+                .description("Consultas resueltas desde el snapshot local por falla de la caché y la BD")
+                .register(registry);
+        this.contextInline = Counter.builder("client.lookup.context.dispatch")
+                .tag("mode", "inline")
+                .register(registry);
+        this.contextHops = Counter.builder("client.lookup.context.dispatch")
+                .tag("mode", "hop")
+                .register(registry);
+        this.inlineExecutor = new ContextExecutor(null, contextInline, contextHops);
     }
 
     /*
@@ -57,98 +247,547 @@ public class ClientImpl implements ClientService {
     */
     @Override
     public Uni<Optional<ClientCache>> getClient(String document) {
-        LOG.infof("Buscando cliente en cache: %s", document);
+        return getClientEntry(document)
+                .map(optional -> optional.map(ClientCacheEntry::getValue));
+    }
+
+    /*
+     * Igual que getClient, pero devuelve la entrada completa de la caché. La
+     * misma instancia se comparte entre las consultas servidas desde el near
+     * cache o desde una carga compartida, lo que permite reutilizar la
+     * respuesta ya serializada.
+     * 
+     * @return Uni<Optional<ClientCacheEntry>> La entrada encontrada o vacío si no existe.
+     * @param document El documento del cliente a buscar.
+     * 
+     */
+    @Override
+    public Uni<Optional<ClientCacheEntry>> getClientEntry(String document) {
+        LOG.debugf("Buscando cliente en cache: %s", document);
+        long start = System.nanoTime();
+
+        if (!documentFilterService.mightExist(document)) {
+            LOG.debugf("Documento %s descartado por el filtro de Bloom", document);
+            lookupTimer.record("filtered", System.nanoTime() - start);
+            return Uni.createFrom().item(Optional.empty());
+        }
 
         Context ctx = Vertx.currentContext();
 
-        return getFromCache(document, ctx)
-                .map(Optional::ofNullable)
-                .chain(optional ->
-                    optional.isPresent()
-                        ? Uni.createFrom().item(optional)
-                        : fetchFromDbAndCache(document, ctx)
-                );
+        Uni<Optional<ClientCacheEntry>> lookup = hedgeEnabled
+                ? hedgedLookup(document, ctx)
+                : getFromCache(document, ctx).chain(entry -> resolve(document, entry, ctx));
+        return lookupTimer.time(lookup, optional -> optional.isPresent() ? "found" : "not_found")
+                .onFailure().recoverWithUni(err -> fromSnapshot(document, err));
     }
 
-    /**
-     * Se usa el emitter para asegurar que en todo momento la operación pase por el 
-     * event-loop original, evitando perder el contexto.
+    /*
+     * Último recurso cuando la consulta falla: el snapshot local. Si el
+     * documento no está en el snapshot se propaga el error original, ya que
+     * no se puede afirmar que el cliente no exista.
+     * 
+     * @return Uni<Optional<ClientCacheEntry>> La entrada leída del snapshot.
+     * @param document El documento del cliente a buscar.
+     * @param err El error de la consulta.
+     * 
+     */
+    private Uni<Optional<ClientCacheEntry>> fromSnapshot(String document, Throwable err) {
+        Optional<ClientCacheEntry> entry = snapshotService.find(document);
+        if (entry.isEmpty()) {
+            return Uni.createFrom().failure(err);
+        }
+        LOG.warnf("Consulta de %s resuelta desde el snapshot local: %s", document, err.getMessage());
+        snapshotReads.increment();
+        return Uni.createFrom().item(entry);
+    }
+
+    /*
+     * Resuelve el resultado de la lectura a la caché: si hubo acierto se
+     * devuelve la entrada, si no se consulta la BD.
+     * 
+     * @return Uni<Optional<ClientCacheEntry>> La entrada encontrada o vacío si no existe.
+     * @param document El documento del cliente a buscar.
+     * @param entry La entrada leída de la caché, o null.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private Uni<Optional<ClientCacheEntry>> resolve(String document, ClientCacheEntry entry, Context ctx) {
+        if (entry == null) {
+            return cacheService.isReadThrough()
+                    ? Uni.createFrom().item(Optional.empty())
+                    : loadUnlessMissing(document, ctx);
+        }
+        refreshIfExpiring(document, entry, ctx);
+        return Uni.createFrom().item(Optional.of(entry));
+    }
+
+    /*
+     * Lectura cubierta: se consulta la caché y, si no responde dentro de la
+     * espera calculada por la política, se lanza la lectura a la BD y gana la
+     * primera en responder; la otra se cancela. La carga desde la BD pasa por
+     * la carga compartida, por lo que cancelarla no afecta a otros llamadores.
      * 
-     * @return Uni<ClientCache> El cliente obtenido desde la caché.
+     * @return Uni<Optional<ClientCacheEntry>> La entrada encontrada o vacío si no existe.
      * @param document El documento del cliente a buscar.
      * @param ctx El contexto de Vert.x para mantener el event-loop.
      * 
      */
-    private Uni<ClientCache> getFromCache(String document, Context ctx) {
+    private Uni<Optional<ClientCacheEntry>> hedgedLookup(String document, Context ctx) {
+        hedgePolicy.onRequest();
+        AtomicBoolean hedged = new AtomicBoolean();
+        long start = System.nanoTime();
+
+        Uni<Optional<ClientCacheEntry>> cacheLeg = getFromCache(document, ctx)
+                .invoke(() -> hedgePolicy.recordLatency(System.nanoTime() - start))
+                .chain(entry -> resolve(document, entry, ctx))
+                .invoke(() -> {
+                    if (hedged.get()) {
+                        hedgeCacheWins.increment();
+                    }
+                });
+
+        Uni<Optional<ClientCacheEntry>> dbLeg = delay(hedgePolicy.delayNanos(), ctx)
+                .chain(() -> {
+                    if (!hedgePolicy.tryAcquire()) {
+                        return Uni.createFrom().<Optional<ClientCacheEntry>>nothing();
+                    }
+                    LOG.debugf("La caché no respondió a tiempo para %s, consultando BD", document);
+                    hedged.set(true);
+                    hedges.increment();
+                    return loadUnlessMissing(document, ctx)
+                            .invoke(() -> hedgeDbWins.increment());
+                });
+
+        return Uni.join().first(cacheLeg, dbLeg).toTerminate();
+    }
+
+    /*
+     * Espera sin bloquear usando un timer de Vert.x y continúa en el contexto
+     * original. Fuera de un contexto de Vert.x el timer se programa en la
+     * instancia inyectada y se continúa en el hilo del timer.
+     * @return Uni<Void> Finaliza cuando transcurre la espera.
+     * @param nanos La espera en nanosegundos.
+     * @param ctx El contexto de Vert.x para mantener el event-loop, o null.
+     * 
+     */
+    private Uni<Void> delay(long nanos, Context ctx) {
+        ContextExecutor executor = onContext(ctx);
+        Vertx owner = ctx != null ? ctx.owner() : vertx;
         return Uni.createFrom().emitter(em -> {
-            cacheService.getAsyncData(document)
-                .subscribe().with(
-                    item -> ctx.runOnContext(v -> em.complete(item)),
-                    err -> ctx.runOnContext(v -> em.fail(err))
-                );
+            long timerId = owner.setTimer(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(nanos)),
+                    id -> executor.execute(() -> em.complete(null)));
+            em.onTermination(() -> owner.cancelTimer(timerId));
         });
     }
 
     /*
-     * Si el cliente no está en la caché, se consulta la base de datos.
-     * Si se encuentra, se almacena en la caché antes de devolverlo.
+     * Si la entrada está próxima a expirar (por umbral fijo o por la decisión
+     * probabilística de XFetch), la recarga desde la BD en segundo plano sin
+     * demorar la respuesta actual. La recarga pasa por la misma carga
+     * compartida, por lo que solo se ejecuta una por documento. Una entrada
+     * precargada desde el snapshot local se recarga siempre en su primera
+     * consulta.
+     * 
+     * @param document El documento del cliente consultado.
+     * @param entry La entrada leída de la caché.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private void refreshIfExpiring(String document, ClientCacheEntry entry, Context ctx) {
+        if (entry.isImmortal() && !entry.isFromSnapshot()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Counter trigger;
+        if (entry.isFromSnapshot()) {
+            trigger = snapshotRefreshes;
+        } else if (refreshAheadEnabled && entry.isExpiringSoon(now, refreshAheadThreshold)) {
+            trigger = refreshAheads;
+        } else if (xfetchEnabled && xfetchPolicy.shouldRefresh(entry.expiresAt(), now)) {
+            trigger = xfetchRefreshes;
+        } else {
+            return;
+        }
+        if (inFlight.containsKey(document)) {
+            return;
+        }
+
+        LOG.debugf("Entrada de %s próxima a expirar, recargando en segundo plano", document);
+        trigger.increment();
+        loadOnce(document, ctx, true)
+            .subscribe().with(
+                ignored -> { },
+                err -> LOG.warnf(err, "No fue posible refrescar el cliente %s", document)
+            );
+    }
+
+    /*
+     * Antes de ir a la BD verifica si el documento está marcado como inexistente
+     * en la caché negativa.
      * 
-     * @return Uni<Optional<ClientCache>> El cliente obtenido desde la BD y almacenado en caché.
+     * @return Uni<Optional<ClientCacheEntry>> Vacío si el documento es inexistente, o el resultado de la BD.
      * @param document El documento del cliente a buscar.
      * @param ctx El contexto de Vert.x para mantener el event-loop.
      * 
      */
-    private Uni<Optional<ClientCache>> fetchFromDbAndCache(String document, Context ctx) {
-        LOG.infof("Cache no encontrado para %s, consultando BD", document);
+    private Uni<Optional<ClientCacheEntry>> loadUnlessMissing(String document, Context ctx) {
+        return emitOnContext(negativeCacheService.isMissing(document), ctx)
+                .chain(missing -> missing
+                        ? Uni.createFrom().item(Optional.<ClientCacheEntry>empty())
+                        : loadOnce(document, ctx, false));
+    }
 
-        return Uni.createFrom().emitter(em -> {
-            findClientInDb(document)
+    /*
+     * Consulta por lote: una sola lectura a la caché para todos los documentos,
+     * una sola consulta a la BD para los faltantes y una sola escritura a la
+     * caché con los encontrados en la BD. En modo read-through los faltantes
+     * ya fueron buscados en la BD por el grid y no se consultan de nuevo.
+     * Los documentos nulos o vacíos no se consultan y se reportan como no encontrados.
+     * 
+     * @return Uni<List<ClientLookup>> El resultado por documento, en el orden solicitado.
+     * @param documents Los documentos de los clientes a buscar.
+     * 
+     */
+    @Override
+    public Uni<List<ClientLookup>> getClients(List<String> documents) {
+        LOG.debugf("Buscando %d clientes en cache", documents.size());
+
+        Context ctx = Vertx.currentContext();
+        Set<String> requested = new LinkedHashSet<>(documents);
+        Set<String> candidates = new LinkedHashSet<>();
+        requested.stream()
+                .filter(document -> document != null && !document.isBlank())
+                .filter(documentFilterService::mightExist)
+                .forEach(candidates::add);
+
+        if (candidates.isEmpty()) {
+            return Uni.createFrom().item(requested.stream()
+                    .map(document -> new ClientLookup(document, false, null))
+                    .toList());
+        }
+
+        return emitOnContext(cacheService.getAllAsyncData(candidates), ctx)
+                .chain(cached -> {
+                    Set<String> missing = new LinkedHashSet<>(candidates);
+                    missing.removeAll(cached.keySet());
+                    return missing.isEmpty() || cacheService.isReadThrough()
+                        ? Uni.createFrom().item(cached)
+                        : emitOnContext(negativeCacheService.findMissing(missing), ctx)
+                            .chain(known -> {
+                                missing.removeAll(known);
+                                return missing.isEmpty()
+                                    ? Uni.createFrom().item(cached)
+                                    : fetchAllFromDbAndCache(missing, cached, ctx);
+                            });
+                })
+                .map(found -> requested.stream()
+                        .map(document -> new ClientLookup(document, found.containsKey(document), found.get(document)))
+                        .toList());
+    }
+
+    /*
+     * Consulta en la BD los documentos que no estaban en la caché y los
+     * almacena en la caché con una única escritura por lote.
+     * 
+     * @return Uni<Map<String, ClientCache>> Los clientes encontrados en caché y en BD.
+     * @param missing Los documentos que no estaban en la caché.
+     * @param cached Los clientes encontrados en la caché.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private Uni<Map<String, ClientCache>> fetchAllFromDbAndCache(Set<String> missing,
+            Map<String, ClientCache> cached, Context ctx) {
+        LOG.debugf("Cache no encontrado para %d documentos, consultando BD", missing.size());
+
+        return emitOnContext(dbFindTimer.time(findClientsInDb(missing), clients -> "batch"), ctx)
+                .chain(clients -> {
+                    Map<String, ClientCache> loaded = new HashMap<>();
+                    clients.forEach(client -> loaded.put(client.document, client));
+
+                    Map<String, ClientCache> found = new HashMap<>(cached);
+                    found.putAll(loaded);
+
+                    Set<String> notFound = new HashSet<>(missing);
+                    notFound.removeAll(loaded.keySet());
+                    return emitOnContext(Uni.combine().all()
+                                .unis(cachePutTimer.time(cacheFillService.fillAll(loaded), ignored -> "batch"), negativeCacheService.markAllMissing(notFound))
+                                .discardItems(), ctx)
+                            .replaceWith(found);
+                });
+    }
+
+    @Override
+    public Uni<Optional<ClientCache>> getClientByEmail(String email) {
+        LOG.debug("Buscando cliente por correo en cache");
+        Context ctx = Vertx.currentContext();
+        return getByIndexedField(cacheService.findByEmail(email), () -> findClientByEmailInDb(email), ctx);
+    }
+
+    @Override
+    public Uni<Optional<ClientCache>> getClientByPhone(String phone) {
+        LOG.debug("Buscando cliente por teléfono en cache");
+        Context ctx = Vertx.currentContext();
+        return getByIndexedField(cacheService.findByPhone(phone), () -> findClientByPhoneInDb(phone), ctx);
+    }
+
+    /*
+     * Actualiza el cliente en la BD y luego en la caché (write-through). Si la
+     * escritura en la caché falla, la entrada se elimina para que la siguiente
+     * consulta la recargue desde la BD.
+     * 
+     * @return Uni<Optional<ClientCache>> El cliente actualizado o vacío si no existe.
+     * @param document El documento del cliente a actualizar.
+     * @param request Los campos a actualizar.
+     * 
+     */
+    @Override
+    public Uni<Optional<ClientCache>> updateClient(String document, ClientUpdateRequest request) {
+        LOG.infof("Actualizando cliente: %s", document);
+        Context ctx = Vertx.currentContext();
+
+        return emitOnContext(updateClientInDb(document, request), ctx)
+                .chain(client -> {
+                    if (client == null) {
+                        return Uni.createFrom().item(Optional.<ClientCache>empty());
+                    }
+                    ClientCache cache = ClientCache.from(client);
+                    Uni<Void> written = cacheService.replaceIfNewer(document, cache)
+                            .replaceWithVoid()
+                            .onFailure().call(err -> {
+                                LOG.warnf(err, "No fue posible actualizar %s en la caché, se elimina", document);
+                                return cacheService.invalidateAll(Set.of(document));
+                            })
+                            .onFailure().recoverWithNull();
+                    return emitOnContext(written, ctx).replaceWith(Optional.of(cache));
+                });
+    }
+
+    /*
+     * Consulta por un campo indexado: primero el índice de la caché y, si no
+     * hay resultado, la BD. El cliente encontrado en la BD se almacena en la
+     * caché por su documento, lo que también lo agrega al índice.
+     * 
+     * @return Uni<Optional<ClientCache>> El cliente encontrado o vacío si no existe.
+     * @param fromCache La consulta al índice de la caché.
+     * @param fromDb La consulta a la BD por la columna indexada.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private Uni<Optional<ClientCache>> getByIndexedField(Uni<ClientCache> fromCache,
+            Supplier<Uni<ClientCache>> fromDb, Context ctx) {
+        return emitOnContext(fromCache, ctx)
+                .chain(cached -> {
+                    if (cached != null) {
+                        return Uni.createFrom().item(Optional.of(cached));
+                    }
+                    return emitOnContext(fromDb.get(), ctx)
+                            .chain(client -> {
+                                if (client == null) {
+                                    return Uni.createFrom().item(Optional.<ClientCache>empty());
+                                }
+                                return emitOnContext(cacheFillService.fill(client.document, client), ctx)
+                                        .replaceWith(Optional.of(client));
+                            });
+                });
+    }
+
+    /*
+     * Garantiza que, para un mismo documento, solo exista una carga desde la BD
+     * en curso. El primer llamador inicia la carga y los demás se suscriben al
+     * mismo resultado.
+     * 
+     * La carga se suscribe de forma independiente a los llamadores, de modo que
+     * la cancelación de uno de ellos no afecta a los demás.
+     * 
+     * @return Uni<Optional<ClientCacheEntry>> El resultado compartido de la carga.
+     * @param document El documento del cliente a buscar.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * @param reload true si la carga recarga una entrada existente en lugar de llenar un fallo.
+     * 
+     */
+    private Uni<Optional<ClientCacheEntry>> loadOnce(String document, Context ctx, boolean reload) {
+        CompletableFuture<Optional<ClientCacheEntry>> promise = new CompletableFuture<>();
+        CompletableFuture<Optional<ClientCacheEntry>> current = inFlight.putIfAbsent(document, promise);
+
+        if (current == null) {
+            current = promise;
+            fetchFromDbAndCache(document, ctx, reload)
                 .subscribe().with(
-                    client -> ctx.runOnContext(v -> {
-                        if (client == null) {
-                            em.complete(Optional.empty());
-                        } else {
-                            ClientCache cache = toCache(client);
-
-                            cacheService.putAsyncData(document, cache)
-                                .subscribe().with(
-                                    x -> ctx.runOnContext(v2 -> em.complete(Optional.of(cache))),
-                                    err -> ctx.runOnContext(v2 -> em.fail(err))
-                                );
-                        }
-                    }),
-                    err -> ctx.runOnContext(v -> em.fail(err))
+                    item -> {
+                        inFlight.remove(document, promise);
+                        promise.complete(item);
+                    },
+                    err -> {
+                        inFlight.remove(document, promise);
+                        promise.completeExceptionally(err);
+                    }
                 );
-        });
+        } else {
+            LOG.debugf("Carga en curso para %s, reutilizando resultado", document);
+            coalescedLoads.increment();
+        }
+
+        CompletableFuture<Optional<ClientCacheEntry>> shared = current;
+        return emitOnContext(Uni.createFrom().completionStage(shared::copy), ctx);
     }
 
     /*
-     * Convierte una entidad Client a ClientCache para almacenarla en la caché.
-     * @return ClientCache El cliente convertido para caché.
-     * @param client La entidad Client a convertir.
-     *  
+     * Reenvía el resultado de una operación al event-loop original, sin cambiar
+     * de hilo si el resultado ya llega en él.
+     * @return Uni<T> La operación cuyo resultado se emite en el contexto dado.
+     * @param source La operación asíncrona original.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private <T> Uni<T> emitOnContext(Uni<T> source, Context ctx) {
+        return source.emitOn(onContext(ctx));
+    }
+
+    /*
+     * Devuelve el ejecutor del contexto, creándolo una sola vez por contexto
+     * (por solicitud, al ser un contexto duplicado) y guardándolo en sus datos
+     * locales, en lugar de crear uno por cada salto.
+     * @return ContextExecutor El ejecutor que entrega los callbacks en el contexto.
+     * @param ctx El contexto de Vert.x, o null para ejecutar en línea.
+     *
      */
-    private ClientCache toCache(Client client) {
-        return new ClientCache(
-                client.document,
-                client.documentType,
-                client.name,
-                client.phone,
-                client.email,
-                client.address,
-                client.creditCard
-        );
+    private ContextExecutor onContext(Context ctx) {
+        if (ctx == null) {
+            return inlineExecutor;
+        }
+        ContextExecutor executor = ctx.getLocal(ContextExecutor.class);
+        if (executor == null) {
+            executor = new ContextExecutor(ctx, contextInline, contextHops);
+            ctx.putLocal(ContextExecutor.class, executor);
+        }
+        return executor;
+    }
+
+    /**
+     * Se emite en el contexto original para asegurar que en todo momento la
+     * operación continúe en el event-loop original, evitando perder el contexto.
+     * 
+     * @return Uni<ClientCacheEntry> La entrada obtenida desde la caché, con su metadata.
+     * @param document El documento del cliente a buscar.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * 
+     */
+    private Uni<ClientCacheEntry> getFromCache(String document, Context ctx) {
+        return emitOnContext(cacheGetTimer.time(cacheService.getAsyncEntry(document),
+                entry -> entry != null ? "hit" : "miss"), ctx);
+    }
+
+    /*
+     * Si el cliente no está en la caché, se consulta la base de datos.
+     * Si se encuentra, se almacena en la caché antes de devolverlo (o en
+     * segundo plano, con el llenado asíncrono habilitado). La duración de
+     * cada carga exitosa alimenta el costo de recarga usado por XFetch.
+     * 
+     * Un fallo se llena solo si la clave sigue ausente y una recarga reemplaza
+     * la entrada solo si no hay una versión más reciente, de modo que un valor
+     * leído antes de una actualización concurrente nunca la pisa.
+     * 
+     * @return Uni<Optional<ClientCacheEntry>> El cliente obtenido desde la BD y almacenado en caché.
+     * @param document El documento del cliente a buscar.
+     * @param ctx El contexto de Vert.x para mantener el event-loop.
+     * @param reload true si la entrada existe en la caché y se está recargando.
+     * 
+     */
+    private Uni<Optional<ClientCacheEntry>> fetchFromDbAndCache(String document, Context ctx, boolean reload) {
+        LOG.debugf("Cache no encontrado para %s, consultando BD", document);
+        long start = System.nanoTime();
+
+        return emitOnContext(dbFindTimer.time(findClientInDb(document),
+                        client -> client != null ? "found" : "not_found"), ctx)
+                .chain(client -> {
+                    if (client == null) {
+                        return negativeCacheService.markMissing(document)
+                                .onFailure().invoke(err ->
+                                        LOG.warnf(err, "No fue posible registrar %s en la caché negativa", document))
+                                .onFailure().recoverWithNull()
+                                .replaceWith(Optional.<ClientCacheEntry>empty());
+                    }
+                    Uni<Void> write = reload
+                            ? cacheFillService.refresh(document, client)
+                            : cacheFillService.fill(document, client);
+                    return cachePutTimer.time(write, ignored -> "ok")
+                            .invoke(() -> xfetchPolicy.recordRecompute(System.nanoTime() - start))
+                            .replaceWith(Optional.of(ClientCacheEntry.of(client)));
+                });
     }
 
     /*
      * Consulta la base de datos para encontrar el cliente por su documento.
-     * @return Uni<Client> El cliente encontrado en la base de datos.
+     * @return Uni<ClientCache> El cliente proyectado desde la base de datos, o null si no existe.
      * @param document El documento del cliente a buscar.
-     * @WithSession Garantiza que la operación se realice dentro de una sesión de Hibernate Reactiva.
      *  
      */
-    @WithSession
-    public Uni<Client> findClientInDb(String document) {
-        return Client.findByDocument(document);
+    public Uni<ClientCache> findClientInDb(String document) {
+        return findOne(SELECT_CACHE + "where c.document = :value", document);
+    }
+
+    /*
+     * Consulta la base de datos para encontrar los clientes de varios documentos
+     * con una única consulta IN.
+     * @return Uni<List<ClientCache>> Los clientes proyectados desde la base de datos.
+     * @param documents Los documentos de los clientes a buscar.
+     *  
+     */
+    public Uni<List<ClientCache>> findClientsInDb(Set<String> documents) {
+        return sessionFactory.withStatelessSession(session -> session
+                .createQuery(SELECT_CACHE + "where c.document in (:documents)", ClientCache.class)
+                .setParameter("documents", documents)
+                .getResultList());
+    }
+
+    /*
+     * Actualiza el cliente en la base de datos. La versión de la entidad se
+     * incrementa al confirmar la transacción.
+     * @return Uni<Client> El cliente actualizado, o null si no existe.
+     * @param document El documento del cliente a actualizar.
+     * @param request Los campos a actualizar.
+     * @WithTransaction Garantiza que la operación se realice dentro de una transacción de Hibernate Reactiva.
+     *  
+     */
+    @WithTransaction
+    public Uni<Client> updateClientInDb(String document, ClientUpdateRequest request) {
+        return Client.findByDocument(document)
+                .onItem().ifNotNull().invoke(request::applyTo);
+    }
+
+    /*
+     * Consulta la base de datos para encontrar el cliente por su correo.
+     * @return Uni<ClientCache> El cliente proyectado desde la base de datos, o null si no existe.
+     * @param email El correo del cliente a buscar.
+     *  
+     */
+    public Uni<ClientCache> findClientByEmailInDb(String email) {
+        return findOne(SELECT_CACHE + "where c.email = :value", email);
+    }
+
+    /*
+     * Consulta la base de datos para encontrar el cliente por su teléfono.
+     * @return Uni<ClientCache> El cliente proyectado desde la base de datos, o null si no existe.
+     * @param phone El teléfono del cliente a buscar.
+     *  
+     */
+    public Uni<ClientCache> findClientByPhoneInDb(String phone) {
+        return findOne(SELECT_CACHE + "where c.phone = :value", phone);
+    }
+
+    /*
+     * Ejecuta una proyección de un solo cliente en una sesión sin estado, que
+     * no mantiene contexto de persistencia ni copias para el dirty-checking.
+     * @return Uni<ClientCache> El primer cliente que cumple el filtro, o null si no hay.
+     * @param query La consulta HQL con el parámetro :value.
+     * @param value El valor del filtro.
+     *  
+     */
+    private Uni<ClientCache> findOne(String query, String value) {
+        return sessionFactory.withStatelessSession(session -> session
+                .createQuery(query, ClientCache.class)
+                .setParameter("value", value)
+                .setMaxResults(1)
+                .getSingleResultOrNull());
     }
 }
@@ -0,0 +1,153 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.ClientSummary;
+import org.acme.services.ClientSearchService;
+import org.acme.utils.StageTimer;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+/**
+ * Clase que implementa la búsqueda aproximada de clientes por nombre.
+ *
+ * Usa un índice GIN de trigramas (pg_trgm) sobre {@code client.name} con
+ * consultas nativas del cliente reactivo: coinciden los nombres que contienen
+ * el texto buscado o que son similares a él, ordenados por similitud. Las
+ * filas se proyectan directamente a ClientSummary, sin entidades
+ * administradas y sin la tarjeta de crédito.
+ *
+ * La extensión y el índice se instalan como paso de migración con
+ * {@code db/client-search-trgm.sql}, porque crear la extensión requiere
+ * permisos que la cuenta del servicio no debe tener. Solo con
+ * {@code client.search.install-index=true} (perfil dev) se crean al iniciar.
+ *
+ * Los resultados se guardan por poco tiempo en una caché acotada, que conserva
+ * las búsquedas más frecuentes; búsquedas idénticas concurrentes comparten una
+ * sola consulta a la BD.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class ClientSearchImpl implements ClientSearchService {
+
+    private static final Logger LOG = Logger.getLogger(ClientSearchImpl.class);
+
+    private static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    private static final String CREATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS client_name_trgm_idx ON client USING gin (name gin_trgm_ops)";
+
+    private static final String SEARCH = """
+            SELECT document, document_type, name, phone, email, address
+            FROM client
+            WHERE name ILIKE $1 OR name % $2
+            ORDER BY similarity(name, $2) DESC, id
+            LIMIT $3 OFFSET $4""";
+
+    private final PgPool pool;
+    private final boolean installIndex;
+    private final AsyncCache<String, List<ClientSummary>> results;
+
+    private final StageTimer searchTimer;
+
+    @Inject
+    public ClientSearchImpl(PgPool pool, MeterRegistry registry,
+            @ConfigProperty(name = "client.search.install-index", defaultValue = "false") boolean installIndex,
+            @ConfigProperty(name = "client.search.cache.ttl", defaultValue = "30s") Duration cacheTtl,
+            @ConfigProperty(name = "client.search.cache.max-size", defaultValue = "1000") long cacheMaxSize) {
+        this.pool = pool;
+        this.installIndex = installIndex;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+
+        this.searchTimer = new StageTimer(registry, "client.search", "db");
+        registry.gauge("client.search.cache.hit-ratio", results, cache -> cache.synchronous().stats().hitRate());
+    }
+
+    /*
+     * Instala la extensión pg_trgm y el índice de trigramas si no existen
+     * (solo si está habilitado; en producción es un paso de migración).
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!installIndex) {
+            return;
+        }
+        pool.query(CREATE_EXTENSION).execute()
+                .chain(() -> pool.query(CREATE_INDEX).execute())
+                .subscribe().with(
+                    ignored -> LOG.info("Índice de trigramas sobre client.name disponible"),
+                    err -> LOG.warn("No fue posible crear el índice de trigramas sobre client.name", err)
+                );
+    }
+
+    /*
+     * Busca clientes cuyo nombre contenga el texto o sea similar a él.
+     * @return Uni<List<ClientSummary>> La página de clientes, del más al menos similar.
+     * @param name El texto a buscar (se normaliza a minúsculas y sin espacios extremos).
+     * @param page El número de página, desde 0.
+     * @param size El tamaño de la página.
+     *
+     */
+    @Override
+    public Uni<List<ClientSummary>> searchByName(String name, int page, int size) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        String key = normalized + '\u0000' + page + '\u0000' + size;
+        return Uni.createFrom().completionStage(() -> results.get(key,
+                (ignored, executor) -> query(normalized, page, size).subscribeAsCompletionStage()));
+    }
+
+    private Uni<List<ClientSummary>> query(String name, int page, int size) {
+        LOG.debugf("Buscando clientes por nombre en BD (página %d)", page);
+        long offset = (long) page * size;
+        Tuple params = Tuple.of("%" + escapeLike(name) + "%", name, size, offset);
+        Uni<List<ClientSummary>> rows = pool.preparedQuery(SEARCH).execute(params)
+                .map(rowSet -> {
+                    List<ClientSummary> clients = new ArrayList<>(rowSet.size());
+                    for (Row row : rowSet) {
+                        clients.add(toSummary(row));
+                    }
+                    return clients;
+                });
+        return searchTimer.time(rows, clients -> clients.isEmpty() ? "empty" : "found");
+    }
+
+    private static ClientSummary toSummary(Row row) {
+        return new ClientSummary(
+                row.getString("document"),
+                row.getString("document_type"),
+                row.getString("name"),
+                row.getString("phone"),
+                row.getString("email"),
+                row.getString("address"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
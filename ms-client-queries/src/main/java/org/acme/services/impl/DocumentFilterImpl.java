@@ -0,0 +1,271 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.Client;
+import org.acme.model.ClientKey;
+import org.acme.services.ClientChangeService;
+import org.acme.services.DocumentFilterService;
+import org.acme.utils.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Clase que mantiene un filtro de Bloom con todos los documentos de clientes.
+ *
+ * Permite responder 404 sin consultar Infinispan ni PostgreSQL cuando un
+ * documento definitivamente no existe. El filtro se construye al iniciar y se
+ * puede reconstruir en segundo plano sin bloquear las consultas: mientras se
+ * construye, se sigue usando el filtro anterior (o se deja pasar todo si aún
+ * no hay ninguno).
+ *
+ * El filtro aprende los documentos nuevos del flujo de cambios de PostgreSQL
+ * (LISTEN/NOTIFY). Un "no existe" del filtro solo se da por definitivo
+ * mientras ese flujo está escuchando; sin él, un cliente insertado por otro
+ * servicio después de construir el filtro sería rechazado para siempre, por
+ * lo que la consulta sigue a la caché y la BD. Si la conexión LISTEN se
+ * reconecta, el filtro se descarta y se reconstruye, porque pudo perder
+ * inserciones mientras estuvo caída.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class DocumentFilterImpl implements DocumentFilterService {
+
+    private static final Logger LOG = Logger.getLogger(DocumentFilterImpl.class);
+
+    private final Vertx vertx;
+    private final ClientChangeService clientChangeService;
+    private final boolean enabled;
+    private final boolean changeFeed;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final int pageSize;
+    private final Duration rebuildInterval;
+
+    private final AtomicReference<BloomFilter> current = new AtomicReference<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile BloomFilter building;
+
+    /* Descartes del filtro; una construcción iniciada antes de uno no se publica. */
+    private final AtomicLong resets = new AtomicLong();
+
+    private final Counter rejected;
+    private final Counter unconfirmed;
+
+    @Inject
+    public DocumentFilterImpl(Vertx vertx, ClientChangeService clientChangeService, MeterRegistry registry,
+            @ConfigProperty(name = "client.bloom.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "client.bloom.expected-insertions", defaultValue = "1000000") long expectedInsertions,
+            @ConfigProperty(name = "client.bloom.fpp", defaultValue = "0.01") double fpp,
+            @ConfigProperty(name = "client.bloom.page-size", defaultValue = "5000") int pageSize,
+            @ConfigProperty(name = "client.bloom.rebuild-interval", defaultValue = "0s") Duration rebuildInterval,
+            @ConfigProperty(name = "client.cache.invalidation.enabled", defaultValue = "false") boolean changeFeed) {
+        this.vertx = vertx;
+        this.clientChangeService = clientChangeService;
+        this.enabled = enabled;
+        this.changeFeed = changeFeed;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.pageSize = pageSize;
+        this.rebuildInterval = rebuildInterval;
+
+        this.rejected = Counter.builder("client.bloom.rejected")
+                .description("Consultas descartadas por el filtro de Bloom sin I/O")
+                .register(registry);
+        this.unconfirmed = Counter.builder("client.bloom.unconfirmed")
+                .description("Documentos ausentes del filtro consultados igual por no estar escuchando cambios")
+                .register(registry);
+        Gauge.builder("client.bloom.bits", current, ref -> metric(ref, BloomFilter::bitSize))
+                .register(registry);
+        Gauge.builder("client.bloom.elements", current, ref -> metric(ref, BloomFilter::approximateElementCount))
+                .register(registry);
+        Gauge.builder("client.bloom.fill-ratio", current, ref -> metric(ref, BloomFilter::fillRatio))
+                .register(registry);
+        Gauge.builder("client.bloom.fpp", current, ref -> metric(ref, BloomFilter::expectedFpp))
+                .register(registry);
+    }
+
+    /*
+     * Construye el filtro al iniciar y programa la reconstrucción periódica.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!changeFeed) {
+            LOG.warn("Filtro de Bloom habilitado sin client.cache.invalidation.enabled: no conocerá los clientes "
+                    + "insertados en la BD, por lo que sus rechazos no se aplican");
+        }
+        rebuild();
+        if (!rebuildInterval.isZero()) {
+            vertx.setPeriodic(rebuildInterval.toMillis(), id -> rebuild());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Indica si el documento puede existir. Mientras no haya un filtro
+     * construido, o si el flujo de cambios no está escuchando (y por tanto
+     * el filtro puede no conocer inserciones recientes), se asume que sí.
+     * @return boolean false solo si el documento definitivamente no existe.
+     * @param document El documento a verificar.
+     *
+     */
+    @Override
+    public boolean mightExist(String document) {
+        BloomFilter filter = current.get();
+        if (!enabled || filter == null) {
+            return true;
+        }
+        if (filter.mightContain(document)) {
+            return true;
+        }
+        if (!clientChangeService.isListening()) {
+            unconfirmed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /*
+     * Registra un documento nuevo en el filtro vigente y en el que se está
+     * construyendo, si lo hay.
+     * @param document El documento insertado.
+     *
+     */
+    @Override
+    public void add(String document) {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter filter = current.get();
+        if (filter != null) {
+            filter.put(document);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(document);
+        }
+    }
+
+    /*
+     * Inicia la reconstrucción del filtro en segundo plano.
+     * @return boolean false si ya hay una reconstrucción en curso o el filtro está deshabilitado.
+     *
+     */
+    @Override
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+
+        long generation = resets.get();
+        long start = System.nanoTime();
+        Context ctx = VertxContext.getOrCreateDuplicatedContext(vertx);
+        ctx.runOnContext(v -> Panache.withSession(() -> Client.count())
+            .chain(count -> {
+                BloomFilter filter = BloomFilter.create(Math.max(expectedInsertions, count * 2), fpp);
+                building = filter;
+                return loadPage(filter, 0L, 0L)
+                        .invoke(total -> LOG.infof("Filtro de Bloom construido con %d documentos: %d bits, "
+                                + "%d funciones hash, llenado %.4f en %d ms", total, filter.bitSize(),
+                                filter.hashFunctions(), filter.fillRatio(),
+                                Duration.ofNanos(System.nanoTime() - start).toMillis()))
+                        .replaceWith(filter);
+            })
+            .subscribe().with(
+                filter -> {
+                    building = null;
+                    rebuilding.set(false);
+                    if (generation == resets.get()) {
+                        current.set(filter);
+                    } else {
+                        rebuild();
+                    }
+                },
+                err -> {
+                    building = null;
+                    rebuilding.set(false);
+                    LOG.error("No fue posible construir el filtro de Bloom", err);
+                }
+            ));
+        return true;
+    }
+
+    /*
+     * Descarta el filtro vigente y lo reconstruye desde la BD. Mientras se
+     * reconstruye todas las consultas pasan; una reconstrucción ya en curso
+     * no se publica y se vuelve a lanzar al terminar.
+     *
+     */
+    @Override
+    public void reset() {
+        if (!enabled) {
+            return;
+        }
+        resets.incrementAndGet();
+        current.set(null);
+        LOG.info("Filtro de Bloom descartado, reconstruyendo");
+        rebuild();
+    }
+
+    /*
+     * Carga los documentos página por página (keyset sobre el id) en el filtro.
+     * @return Uni<Long> El total de documentos cargados.
+     * @param filter El filtro en construcción.
+     * @param lastId El último id cargado.
+     * @param loaded Los documentos cargados hasta ahora.
+     *
+     */
+    private Uni<Long> loadPage(BloomFilter filter, long lastId, long loaded) {
+        return Panache.withSession(() -> Client.findKeysAfter(lastId, pageSize))
+                .chain(keys -> {
+                    keys.forEach(key -> filter.put(key.document()));
+                    long total = loaded + keys.size();
+                    if (keys.size() < pageSize) {
+                        return Uni.createFrom().item(total);
+                    }
+                    return loadPage(filter, last(keys).id(), total);
+                });
+    }
+
+    private static ClientKey last(List<ClientKey> keys) {
+        return keys.get(keys.size() - 1);
+    }
+
+    private static double metric(AtomicReference<BloomFilter> ref,
+            ToDoubleFunction<BloomFilter> value) {
+        BloomFilter filter = ref.get();
+        return filter == null ? 0 : value.applyAsDouble(filter);
+    }
+}
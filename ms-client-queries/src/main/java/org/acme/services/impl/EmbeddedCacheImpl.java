@@ -0,0 +1,318 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.services.CacheService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+import io.smallrye.mutiny.Uni;
+
+import static org.acme.utils.constants.Constants.CACHE_REMOTE_NAME;
+
+/**
+ * Clase que implementa el servicio de caché con Infinispan embebido.
+ *
+ * La caché CLIENT-LIST vive en el mismo proceso, sin saltos de red. Si el
+ * cache manager tiene transporte configurado (por ejemplo con
+ * {@code quarkus.infinispan-embedded.xml-config}) la caché se crea distribuida
+ * entre las instancias; si no, es local. Un listener sobre la caché mantiene
+ * actualizados la caché negativa y el filtro de Bloom, igual que el listener
+ * remoto del backend Hot Rod.
+ *
+ * Se activa con {@code client.cache.backend=embedded}.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@Startup
+@ApplicationScoped
+@IfBuildProperty(name = "client.cache.backend", stringValue = "embedded")
+public class EmbeddedCacheImpl implements CacheService {
+
+    private static final Logger LOG = Logger.getLogger(EmbeddedCacheImpl.class);
+
+    private static final String TIER_EMBEDDED = "embedded";
+
+    private final EmbeddedCacheManager cacheManager;
+    private final NegativeCacheService negativeCacheService;
+    private final DocumentFilterService documentFilterService;
+    private final long maxSize;
+    private final long lifespanMillis;
+    private final long maxIdleMillis;
+    private final EntryListener listener = new EntryListener();
+
+    private AdvancedCache<String, ClientCache> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Inject
+    public EmbeddedCacheImpl(EmbeddedCacheManager cacheManager,
+            NegativeCacheService negativeCacheService,
+            DocumentFilterService documentFilterService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.embedded.max-size", defaultValue = "100000") long maxSize,
+            @ConfigProperty(name = "client.cache.lifespan", defaultValue = "0s") Duration lifespan,
+            @ConfigProperty(name = "client.cache.max-idle", defaultValue = "0s") Duration maxIdle) {
+        this.cacheManager = cacheManager;
+        this.negativeCacheService = negativeCacheService;
+        this.documentFilterService = documentFilterService;
+        this.maxSize = maxSize;
+        this.lifespanMillis = unlimitedIfZero(lifespan);
+        this.maxIdleMillis = unlimitedIfZero(maxIdle);
+
+        this.hits = Counter.builder("client.cache.requests")
+                .tag("tier", TIER_EMBEDDED)
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("client.cache.requests")
+                .tag("tier", TIER_EMBEDDED)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /*
+     * Define e inicia la caché al arrancar, fuera del event-loop, ya que unirse
+     * al clúster es una operación bloqueante.
+     *
+     */
+    @PostConstruct
+    void init() {
+        boolean clustered = cacheManager.getCacheManagerConfiguration().isClustered();
+        if (cacheManager.getCacheConfiguration(CACHE_REMOTE_NAME) == null) {
+            ConfigurationBuilder builder = new ConfigurationBuilder();
+            builder.clustering().cacheMode(clustered ? CacheMode.DIST_SYNC : CacheMode.LOCAL);
+            if (clustered) {
+                builder.encoding().mediaType(MediaType.APPLICATION_PROTOSTREAM_TYPE);
+            }
+            builder.memory().maxCount(maxSize);
+            cacheManager.defineConfiguration(CACHE_REMOTE_NAME, builder.build());
+        }
+
+        LOG.info("Iniciando caché embebida " + CACHE_REMOTE_NAME + (clustered ? " distribuida" : " local"));
+        cache = cacheManager.<String, ClientCache>getCache(CACHE_REMOTE_NAME).getAdvancedCache();
+        cache.addListener(listener);
+    }
+
+    @PreDestroy
+    void onStop() {
+        cache.removeListener(listener);
+    }
+
+    @Override
+    public Uni<ClientCache> getAsyncData(String id) {
+        return getAsyncEntry(id).map(entry -> entry == null ? null : entry.getValue());
+    }
+
+    /*
+     * Consulta asíncrona del cliente junto con su metadata de expiración.
+     * @return Uni<ClientCacheEntry> La entrada almacenada en caché o null si no existe.
+     * @param id El ID del cliente a buscar.
+     *
+     */
+    @Override
+    public Uni<ClientCacheEntry> getAsyncEntry(String id) {
+        return Uni.createFrom().completionStage(cache.getCacheEntryAsync(id))
+                .map(entry -> {
+                    if (entry == null || entry.getValue() == null) {
+                        misses.increment();
+                        return null;
+                    }
+                    hits.increment();
+                    return toEntry(entry);
+                });
+    }
+
+    /*
+     * Almacena el cliente solo si la clave no tiene valor, para no pisar una
+     * versión escrita por una actualización mientras se leía desde la BD.
+     * @return Uni<Boolean> true si el cliente quedó almacenado.
+     * @param id El ID del cliente a almacenar.
+     * @param client El cliente a almacenar en caché.
+     *
+     */
+    @Override
+    public Uni<Boolean> putIfAbsentAsyncData(String id, ClientCache client) {
+        LOG.debug("Creando un Cliente en la caché embebida con el ID: " + id);
+        return Uni.createFrom().completionStage(cache.putIfAbsentAsync(id, client,
+                        lifespanMillis, TimeUnit.MILLISECONDS, maxIdleMillis, TimeUnit.MILLISECONDS))
+                .map(previous -> previous == null);
+    }
+
+    @Override
+    public Uni<Map<String, ClientCache>> getAllAsyncData(Set<String> ids) {
+        return Uni.createFrom().completionStage(cache.getAllAsync(ids))
+                .map(found -> {
+                    hits.increment(found.size());
+                    misses.increment(ids.size() - found.size());
+                    return found;
+                });
+    }
+
+    @Override
+    public Uni<Void> putAllIfAbsentAsyncData(Map<String, ClientCache> clients) {
+        if (clients.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Uni<Boolean>> writes = clients.entrySet().stream()
+                .map(entry -> putIfAbsentAsyncData(entry.getKey(), entry.getValue()))
+                .toList();
+        return Uni.join().all(writes).andCollectFailures().replaceWithVoid();
+    }
+
+    @Override
+    public Uni<Void> invalidateAll(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Uni<ClientCache>> removals = ids.stream()
+                .map(id -> Uni.createFrom().completionStage(cache.removeAsync(id)))
+                .toList();
+        return Uni.join().all(removals).andCollectFailures().replaceWithVoid();
+    }
+
+    /*
+     * Escribe el cliente salvo que la entrada actual tenga una versión más
+     * reciente, con un compute atómico sobre la clave. Una versión igual se
+     * reescribe para renovar su tiempo de vida.
+     * @return Uni<Boolean> true si la caché quedó con este valor.
+     * @param id El ID del cliente.
+     * @param client El cliente actualizado, con su versión de la BD.
+     *
+     */
+    @Override
+    public Uni<Boolean> replaceIfNewer(String id, ClientCache client) {
+        return Uni.createFrom().completionStage(cache.computeAsync(id,
+                        (key, current) -> current != null && current.version > client.version ? current : client,
+                        lifespanMillis, TimeUnit.MILLISECONDS, maxIdleMillis, TimeUnit.MILLISECONDS))
+                .map(result -> result != null && result.version == client.version);
+    }
+
+    /*
+     * La caché embebida vive en el mismo proceso: se vacía completa.
+     * @return Uni<Void> Finaliza cuando la caché queda vacía.
+     * @param shared Se ignora.
+     *
+     */
+    @Override
+    public Uni<Void> clear(boolean shared) {
+        return Uni.createFrom().completionStage(cache.clearAsync());
+    }
+
+    /*
+     * La caché embebida no tiene near cache: no hay nada que invalidar aparte
+     * de la propia caché.
+     * @param ids Se ignora.
+     *
+     */
+    @Override
+    public void invalidateNear(Set<String> ids) {
+    }
+
+    /*
+     * @return boolean true si la caché está distribuida entre las instancias del clúster.
+     *
+     */
+    @Override
+    public boolean isShared() {
+        return cache.getCacheConfiguration().clustering().cacheMode().isClustered();
+    }
+
+    /*
+     * La caché embebida no tiene near cache: vive en el mismo proceso.
+     *
+     */
+    @Override
+    public void seedNear(Map<String, ClientCacheEntry> entries) {
+    }
+
+    /*
+     * Solo la caché remota puede tener un cargador JDBC en el servidor: los
+     * fallos de esta caché siempre se resuelven desde la BD en el servicio.
+     *
+     */
+    @Override
+    public boolean isReadThrough() {
+        return false;
+    }
+
+    /*
+     * La caché embebida no tiene índices secundarios: la consulta responde vacío
+     * y el servicio de clientes resuelve desde la BD.
+     *
+     */
+    @Override
+    public Uni<ClientCache> findByEmail(String email) {
+        return Uni.createFrom().nullItem();
+    }
+
+    @Override
+    public Uni<ClientCache> findByPhone(String phone) {
+        return Uni.createFrom().nullItem();
+    }
+
+    /*
+     * En Infinispan embebido un lifespan o max-idle de 0 no significa
+     * "sin límite"; se traduce a -1.
+     */
+    private static long unlimitedIfZero(Duration duration) {
+        return duration.isZero() ? -1L : duration.toMillis();
+    }
+
+    private static ClientCacheEntry toEntry(CacheEntry<String, ClientCache> entry) {
+        return entry.getLifespan() < 0
+                ? ClientCacheEntry.of(entry.getValue())
+                : new ClientCacheEntry(entry.getValue(), entry.getCreated(), entry.getLifespan());
+    }
+
+    /**
+     * Listener de la caché embebida: un cliente escrito (en esta instancia o
+     * en otra del clúster) deja de ser inexistente y se registra en el filtro
+     * de Bloom.
+     */
+    @Listener(clustered = true)
+    public class EntryListener {
+
+        @CacheEntryCreated
+        @CacheEntryModified
+        public void onWritten(CacheEntryEvent<String, ClientCache> event) {
+            String id = event.getKey();
+            documentFilterService.add(id);
+            negativeCacheService.invalidate(id)
+                    .subscribe().with(
+                        ignored -> { },
+                        err -> LOG.warnf(err, "No fue posible invalidar la caché negativa para %s", id)
+                    );
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.HotKey;
+import org.acme.model.HotKeyReport;
+import org.acme.services.HotKeyService;
+import org.acme.utils.CountMinSketch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+
+/**
+ * Clase que estima los documentos más consultados sin registrar cada consulta.
+ *
+ * Cada consulta por documento incrementa un sketch count-min de tamaño fijo
+ * y, si su estimación supera al menor de los candidatos, entra al conjunto
+ * de candidatos a top-K. El conjunto se acota a dos veces K y se poda con un
+ * heap de mínimos en un solo hilo a la vez, sin bloquear a los demás.
+ *
+ * Al cerrar cada ventana los contadores se reducen a la mitad, de modo que
+ * las estimaciones pesan más el tráfico reciente y una clave que deja de
+ * consultarse sale del top en pocas ventanas.
+ *
+ * Las métricas solo exponen agregados del top (la fracción del tráfico que
+ * concentra y la estimación del primero); los documentos se consultan en el
+ * endpoint de administración para no crear una serie por documento.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class HotKeyImpl implements HotKeyService {
+
+    private static final Comparator<Map.Entry<String, Long>> BY_ESTIMATE = Map.Entry.comparingByValue();
+
+    private final Vertx vertx;
+    private final boolean enabled;
+    private final int topK;
+    private final Duration window;
+
+    private final CountMinSketch sketch;
+
+    /* Candidatos a top-K con su última estimación. */
+    private final ConcurrentMap<String, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    /* Menor estimación que quedó en el top en la última poda. */
+    private volatile long floor;
+
+    @Inject
+    public HotKeyImpl(Vertx vertx, MeterRegistry registry,
+            @ConfigProperty(name = "client.hotkeys.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "client.hotkeys.width", defaultValue = "2048") int width,
+            @ConfigProperty(name = "client.hotkeys.depth", defaultValue = "4") int depth,
+            @ConfigProperty(name = "client.hotkeys.top-k", defaultValue = "20") int topK,
+            @ConfigProperty(name = "client.hotkeys.window", defaultValue = "60s") Duration window) {
+        this.vertx = vertx;
+        this.enabled = enabled;
+        this.topK = Math.max(1, topK);
+        this.window = window;
+        this.sketch = new CountMinSketch(width, depth);
+
+        Gauge.builder("client.hotkeys.lookups", sketch, CountMinSketch::total)
+                .description("Consultas por documento en las ventanas recientes, con decaimiento")
+                .register(registry);
+        Gauge.builder("client.hotkeys.top.share", this, impl -> impl.topShare())
+                .description("Fracción del tráfico reciente que concentran los documentos del top")
+                .register(registry);
+        Gauge.builder("client.hotkeys.top.estimate", this, impl -> impl.topEstimate())
+                .description("Consultas estimadas del documento más consultado")
+                .register(registry);
+    }
+
+    /*
+     * Programa el decaimiento de los contadores al cerrar cada ventana.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (enabled && !window.isZero()) {
+            vertx.setPeriodic(window.toMillis(), id -> decay());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Registra una consulta del documento en el sketch y, si es frecuente,
+     * entre los candidatos a top-K.
+     * @param document El documento consultado.
+     *
+     */
+    @Override
+    public void record(String document) {
+        if (!enabled || document == null) {
+            return;
+        }
+        long estimate = sketch.add(document);
+        if (estimate <= floor && candidates.size() >= topK) {
+            return;
+        }
+        candidates.put(document, estimate);
+        if (candidates.size() > 2 * topK && pruning.compareAndSet(false, true)) {
+            try {
+                prune();
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    /*
+     * Devuelve los documentos más consultados según las estimaciones actuales.
+     * @return HotKeyReport El reporte con hasta limit documentos, de mayor a menor.
+     * @param limit El número máximo de documentos.
+     *
+     */
+    @Override
+    public HotKeyReport report(int limit) {
+        long lookups = sketch.total();
+        List<HotKey> keys = top(Math.min(limit, topK)).stream()
+                .map(entry -> new HotKey(entry.getKey(), entry.getValue(),
+                        lookups == 0 ? 0 : (double) entry.getValue() / lookups))
+                .toList();
+        return new HotKeyReport(enabled, lookups, window.toSeconds(),
+                (long) Math.ceil(sketch.relativeError() * lookups), keys);
+    }
+
+    /*
+     * Deja solo los K candidatos con mayor estimación y actualiza el piso.
+     */
+    private void prune() {
+        List<Map.Entry<String, Long>> kept = top(topK);
+        floor = kept.isEmpty() ? 0 : kept.get(kept.size() - 1).getValue();
+        candidates.keySet().retainAll(kept.stream().map(Map.Entry::getKey).toList());
+    }
+
+    /*
+     * Selecciona los candidatos con mayor estimación con un heap de mínimos
+     * de tamaño acotado, reestimando cada uno contra el sketch.
+     * @return List<Map.Entry<String, Long>> Los candidatos de mayor a menor estimación.
+     * @param limit El número máximo de candidatos.
+     *
+     */
+    private List<Map.Entry<String, Long>> top(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(limit + 1, BY_ESTIMATE);
+        for (String document : candidates.keySet()) {
+            heap.offer(Map.entry(document, sketch.estimate(document)));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Long>> result = new ArrayList<>(heap);
+        result.sort(BY_ESTIMATE.reversed());
+        return result;
+    }
+
+    /*
+     * Reduce a la mitad los contadores del sketch y las estimaciones de los
+     * candidatos, descartando los que quedan en cero.
+     */
+    void decay() {
+        sketch.decay();
+        floor = floor >>> 1;
+        candidates.replaceAll((document, estimate) -> estimate >>> 1);
+        candidates.values().removeIf(estimate -> estimate == 0);
+    }
+
+    private double topShare() {
+        long lookups = sketch.total();
+        if (lookups == 0) {
+            return 0;
+        }
+        long hot = top(topK).stream().mapToLong(Map.Entry::getValue).sum();
+        return Math.min(1.0, (double) hot / lookups);
+    }
+
+    private double topEstimate() {
+        List<Map.Entry<String, Long>> first = top(1);
+        return first.isEmpty() ? 0 : first.get(0).getValue();
+    }
+}
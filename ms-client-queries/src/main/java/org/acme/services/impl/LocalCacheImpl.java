@@ -0,0 +1,297 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.services.CacheService;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Clase que implementa el servicio de caché en memoria local con Caffeine.
+ *
+ * Pensada para despliegues en el borde y pruebas de carga sin RH DataGrid:
+ * cada instancia mantiene su propia copia acotada, con el mismo lifespan y
+ * max-idle que el backend remoto. Las operaciones completan de inmediato pero
+ * conservan la firma asíncrona del servicio.
+ *
+ * Las entradas precargadas desde el snapshot local quedan marcadas como
+ * tales: no se devuelven en las consultas por lote y cualquier escritura
+ * desde la BD las reemplaza, aunque tengan la misma versión.
+ *
+ * Se activa con {@code client.cache.backend=local}.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "client.cache.backend", stringValue = "local")
+public class LocalCacheImpl implements CacheService {
+
+    private static final Logger LOG = Logger.getLogger(LocalCacheImpl.class);
+
+    private static final String TIER_LOCAL = "local";
+
+    private final NegativeCacheService negativeCacheService;
+    private final DocumentFilterService documentFilterService;
+    private final long lifespanMillis;
+    private final Cache<String, ClientCacheEntry> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Inject
+    public LocalCacheImpl(NegativeCacheService negativeCacheService,
+            DocumentFilterService documentFilterService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.local.max-size", defaultValue = "100000") long maxSize,
+            @ConfigProperty(name = "client.cache.lifespan", defaultValue = "0s") Duration lifespan,
+            @ConfigProperty(name = "client.cache.max-idle", defaultValue = "0s") Duration maxIdle) {
+        this.negativeCacheService = negativeCacheService;
+        this.documentFilterService = documentFilterService;
+        this.lifespanMillis = lifespan.toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LocalExpiry(maxIdle))
+                .build();
+
+        this.hits = Counter.builder("client.cache.requests")
+                .tag("tier", TIER_LOCAL)
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("client.cache.requests")
+                .tag("tier", TIER_LOCAL)
+                .tag("result", "miss")
+                .register(registry);
+        registry.gauge("client.cache.local.size", cache, Cache::estimatedSize);
+    }
+
+    @Override
+    public Uni<ClientCache> getAsyncData(String id) {
+        return getAsyncEntry(id).map(entry -> entry == null ? null : entry.getValue());
+    }
+
+    @Override
+    public Uni<ClientCacheEntry> getAsyncEntry(String id) {
+        ClientCacheEntry entry = cache.getIfPresent(id);
+        (entry != null ? hits : misses).increment();
+        return Uni.createFrom().item(entry);
+    }
+
+    /*
+     * Almacena el cliente solo si la clave no tiene valor (o solo tiene uno
+     * precargado del snapshot), para no pisar una versión escrita por una
+     * actualización mientras se leía desde la BD.
+     * @return Uni<Boolean> true si el cliente quedó almacenado.
+     * @param id El ID del cliente a almacenar.
+     * @param client El cliente a almacenar en caché.
+     *
+     */
+    @Override
+    public Uni<Boolean> putIfAbsentAsyncData(String id, ClientCache client) {
+        LOG.debug("Creando un Cliente en la caché local con el ID: " + id);
+        return Uni.createFrom().item(storeIfAbsent(id, client));
+    }
+
+    /*
+     * Consulta por lote. Las entradas precargadas del snapshot cuentan como
+     * fallos, para que el lote se resuelva desde la BD.
+     * @return Uni<Map<String, ClientCache>> Los clientes encontrados, por ID.
+     * @param ids Los IDs de los clientes a buscar.
+     *
+     */
+    @Override
+    public Uni<Map<String, ClientCache>> getAllAsyncData(Set<String> ids) {
+        Map<String, ClientCache> found = new HashMap<>();
+        cache.getAllPresent(ids).forEach((id, entry) -> {
+            if (!entry.isFromSnapshot()) {
+                found.put(id, entry.getValue());
+            }
+        });
+        hits.increment(found.size());
+        misses.increment(ids.size() - found.size());
+        return Uni.createFrom().item(found);
+    }
+
+    @Override
+    public Uni<Void> putAllIfAbsentAsyncData(Map<String, ClientCache> clients) {
+        clients.forEach(this::storeIfAbsent);
+        return Uni.createFrom().voidItem();
+    }
+
+    @Override
+    public Uni<Void> invalidateAll(Set<String> ids) {
+        cache.invalidateAll(ids);
+        return Uni.createFrom().voidItem();
+    }
+
+    /*
+     * Escribe el cliente salvo que la entrada actual tenga una versión más
+     * reciente, con un compute atómico sobre la clave. Una versión igual se
+     * reescribe para renovar su tiempo de vida.
+     * @return Uni<Boolean> true si la caché quedó con este valor.
+     * @param id El ID del cliente.
+     * @param client El cliente actualizado, con su versión de la BD.
+     *
+     */
+    @Override
+    public Uni<Boolean> replaceIfNewer(String id, ClientCache client) {
+        ClientCacheEntry result = cache.asMap().compute(id, (key, current) ->
+                current != null && !current.isFromSnapshot() && current.getValue().version > client.version
+                        ? current
+                        : newEntry(client));
+        boolean written = result.getValue() == client;
+        if (written) {
+            onClientWritten(id);
+        }
+        return Uni.createFrom().item(written);
+    }
+
+    /*
+     * La caché local es propia de la instancia: se vacía completa.
+     * @return Uni<Void> Finaliza cuando la caché queda vacía.
+     * @param shared Se ignora.
+     *
+     */
+    @Override
+    public Uni<Void> clear(boolean shared) {
+        cache.invalidateAll();
+        return Uni.createFrom().voidItem();
+    }
+
+    /*
+     * La caché local no tiene near cache: no hay nada que invalidar aparte de
+     * la propia caché.
+     * @param ids Se ignora.
+     *
+     */
+    @Override
+    public void invalidateNear(Set<String> ids) {
+    }
+
+    /*
+     * @return boolean false: la caché local es propia de la instancia.
+     *
+     */
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    /*
+     * Precarga la caché local sin reemplazar las entradas existentes.
+     * @param entries Las entradas marcadas como leídas del snapshot, por ID.
+     *
+     */
+    @Override
+    public void seedNear(Map<String, ClientCacheEntry> entries) {
+        entries.forEach(cache.asMap()::putIfAbsent);
+    }
+
+    /*
+     * Solo la caché remota puede tener un cargador JDBC en el servidor: los
+     * fallos de esta caché siempre se resuelven desde la BD en el servicio.
+     *
+     */
+    @Override
+    public boolean isReadThrough() {
+        return false;
+    }
+
+    /*
+     * La caché local no tiene índices secundarios: la consulta responde vacío
+     * y el servicio de clientes resuelve desde la BD.
+     *
+     */
+    @Override
+    public Uni<ClientCache> findByEmail(String email) {
+        return Uni.createFrom().nullItem();
+    }
+
+    @Override
+    public Uni<ClientCache> findByPhone(String phone) {
+        return Uni.createFrom().nullItem();
+    }
+
+    private boolean storeIfAbsent(String id, ClientCache client) {
+        ClientCacheEntry entry = newEntry(client);
+        boolean stored = cache.asMap().compute(id, (key, current) ->
+                current == null || current.isFromSnapshot() ? entry : current) == entry;
+        if (stored) {
+            onClientWritten(id);
+        }
+        return stored;
+    }
+
+    private ClientCacheEntry newEntry(ClientCache client) {
+        return lifespanMillis > 0
+                ? new ClientCacheEntry(client, System.currentTimeMillis(), lifespanMillis)
+                : ClientCacheEntry.of(client);
+    }
+
+    /*
+     * Un cliente escrito deja de ser inexistente y se registra en el filtro de Bloom.
+     * @param id El ID del cliente escrito.
+     *
+     */
+    private void onClientWritten(String id) {
+        documentFilterService.add(id);
+        negativeCacheService.invalidate(id)
+                .subscribe().with(
+                    ignored -> { },
+                    err -> LOG.warnf(err, "No fue posible invalidar la caché negativa para %s", id)
+                );
+    }
+
+    /**
+     * Expiración local: el lifespan de la entrada y, si está configurado, el
+     * max-idle desde el último acceso, sin superar el lifespan restante.
+     */
+    private static final class LocalExpiry implements Expiry<String, ClientCacheEntry> {
+
+        private final long maxIdleNanos;
+
+        LocalExpiry(Duration maxIdle) {
+            this.maxIdleNanos = maxIdle.isZero() ? Long.MAX_VALUE : maxIdle.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, ClientCacheEntry entry, long currentTime) {
+            long remaining = entry.remaining(System.currentTimeMillis());
+            return remaining == Long.MAX_VALUE
+                    ? maxIdleNanos
+                    : Math.min(maxIdleNanos, TimeUnit.MILLISECONDS.toNanos(remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ClientCacheEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ClientCacheEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+    }
+}
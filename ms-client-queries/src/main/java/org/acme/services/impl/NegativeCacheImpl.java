@@ -0,0 +1,268 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.services.NegativeCacheService;
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+
+import static org.acme.utils.constants.Constants.CACHE_NEGATIVE_NAME;
+
+/**
+ * Clase que implementa la caché negativa de documentos inexistentes.
+ *
+ * Cada documento que no existe en la BD se registra como una marca con un TTL
+ * corto, de forma que las consultas repetidas responden 404 sin consultar
+ * PostgreSQL. Las marcas se guardan en memoria local o en la caché remota
+ * {@code CLIENT-MISSING} de RH DataGrid, según la configuración.
+ *
+ * Las marcas se eliminan cuando el cliente aparece en CLIENT-LIST o cuando
+ * el flujo de cambios de PostgreSQL (LISTEN/NOTIFY) notifica su inserción.
+ * Un cliente insertado directamente en la BD sin ese flujo respondería 404
+ * hasta que su marca expire, por lo que la caché negativa está deshabilitada
+ * por defecto y se advierte al iniciar si se habilita sin el flujo.
+ *
+ * El cliente Hot Rod solo se resuelve con el almacenamiento remoto, de modo
+ * que con los backends local o embebido no se abre conexión a RH DataGrid.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class NegativeCacheImpl implements NegativeCacheService {
+
+    private static final Logger LOG = Logger.getLogger(NegativeCacheImpl.class);
+
+    private static final String STORE_REMOTE = "remote";
+    private static final String TOMBSTONE = "";
+
+    private final Instance<RemoteCacheManager> cacheManager;
+    private final boolean enabled;
+    private volatile boolean remote;
+    private final Duration ttl;
+    private final Cache<String, Boolean> localCache;
+
+    private final boolean changeFeed;
+
+    /* Se asigna al iniciar y se lee desde los hilos de las consultas. */
+    private volatile RemoteCache<String, String> remoteCache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    @Inject
+    public NegativeCacheImpl(Instance<RemoteCacheManager> cacheManager,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.cache.negative.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "client.cache.negative.store", defaultValue = "local") String store,
+            @ConfigProperty(name = "client.cache.negative.ttl", defaultValue = "15s") Duration ttl,
+            @ConfigProperty(name = "client.cache.negative.max-size", defaultValue = "100000") long maxSize,
+            @ConfigProperty(name = "client.cache.invalidation.enabled", defaultValue = "false") boolean changeFeed) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.changeFeed = changeFeed;
+        this.remote = STORE_REMOTE.equalsIgnoreCase(store);
+        this.ttl = ttl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.hits = Counter.builder("client.cache.requests")
+                .tag("tier", "negative")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("client.cache.requests")
+                .tag("tier", "negative")
+                .tag("result", "miss")
+                .register(registry);
+        this.invalidations = Counter.builder("client.cache.invalidations")
+                .tag("tier", "negative")
+                .register(registry);
+    }
+
+    /*
+     * Obtiene la caché remota al iniciar la aplicación, evitando bloquear el
+     * event-loop en la primera consulta.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (enabled && !changeFeed) {
+            LOG.warnf("Caché negativa habilitada sin client.cache.invalidation.enabled: un cliente insertado "
+                    + "directamente en la BD responderá 404 hasta que su marca expire (%s)", ttl);
+        }
+        if (enabled && remote) {
+            if (!cacheManager.isResolvable()) {
+                LOG.warn("No hay cliente Hot Rod disponible, la caché negativa queda en memoria local");
+                remote = false;
+                return;
+            }
+            LOG.info("Caché negativa remota habilitada en " + CACHE_NEGATIVE_NAME);
+            remoteCache = cacheManager.get().getCache(CACHE_NEGATIVE_NAME);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Indica si el documento está marcado como inexistente.
+     * @return Uni<Boolean> true si existe una marca vigente para el documento.
+     * @param document El documento a verificar.
+     *
+     */
+    @Override
+    public Uni<Boolean> isMissing(String document) {
+        if (!enabled) {
+            return Uni.createFrom().item(false);
+        }
+        if (!remote) {
+            return Uni.createFrom().item(record(localCache.getIfPresent(document) != null));
+        }
+        return Uni.createFrom().completionStage(remoteCache.getAsync(document))
+                .map(tombstone -> record(tombstone != null));
+    }
+
+    /*
+     * Filtra los documentos marcados como inexistentes.
+     * @return Uni<Set<String>> Los documentos con una marca vigente.
+     * @param documents Los documentos a verificar.
+     *
+     */
+    @Override
+    public Uni<Set<String>> findMissing(Set<String> documents) {
+        if (!enabled || documents.isEmpty()) {
+            return Uni.createFrom().item(Set.of());
+        }
+        if (!remote) {
+            Set<String> missing = new HashSet<>(localCache.getAllPresent(documents).keySet());
+            return Uni.createFrom().item(recordAll(missing, documents.size()));
+        }
+        return Uni.createFrom().completionStage(remoteCache.getAllAsync(documents))
+                .map(found -> recordAll(new HashSet<>(found.keySet()), documents.size()));
+    }
+
+    /*
+     * Marca el documento como inexistente durante el TTL configurado.
+     * @return Uni<Void> Finaliza cuando la marca queda registrada.
+     * @param document El documento inexistente.
+     *
+     */
+    @Override
+    public Uni<Void> markMissing(String document) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        if (!remote) {
+            localCache.put(document, Boolean.TRUE);
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(
+                remoteCache.putAsync(document, TOMBSTONE, ttl.toMillis(), TimeUnit.MILLISECONDS))
+                .replaceWithVoid();
+    }
+
+    /*
+     * Marca varios documentos como inexistentes con una sola escritura.
+     * @return Uni<Void> Finaliza cuando las marcas quedan registradas.
+     * @param documents Los documentos inexistentes.
+     *
+     */
+    @Override
+    public Uni<Void> markAllMissing(Set<String> documents) {
+        if (!enabled || documents.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        if (!remote) {
+            documents.forEach(document -> localCache.put(document, Boolean.TRUE));
+            return Uni.createFrom().voidItem();
+        }
+        Map<String, String> tombstones = new HashMap<>();
+        documents.forEach(document -> tombstones.put(document, TOMBSTONE));
+        return Uni.createFrom().completionStage(
+                remoteCache.putAllAsync(tombstones, ttl.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /*
+     * Elimina la marca de un documento, por ejemplo cuando el cliente es creado.
+     * @return Uni<Void> Finaliza cuando la marca fue eliminada.
+     * @param document El documento que ahora existe.
+     *
+     */
+    @Override
+    public Uni<Void> invalidate(String document) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        if (!remote) {
+            if (localCache.asMap().remove(document) != null) {
+                invalidations.increment();
+            }
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).removeAsync(document))
+                .invoke(previous -> {
+                    if (previous != null) {
+                        invalidations.increment();
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    /*
+     * Elimina todas las marcas, por ejemplo cuando el flujo de cambios estuvo
+     * caído y pudo perder inserciones.
+     * @return Uni<Void> Finaliza cuando las marcas fueron eliminadas.
+     *
+     */
+    @Override
+    public Uni<Void> invalidateAll() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        if (!remote) {
+            invalidations.increment(localCache.estimatedSize());
+            localCache.invalidateAll();
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(remoteCache.clearAsync());
+    }
+
+    private boolean record(boolean missing) {
+        (missing ? hits : misses).increment();
+        return missing;
+    }
+
+    private Set<String> recordAll(Set<String> missing, int requested) {
+        hits.increment(missing.size());
+        misses.increment(requested - missing.size());
+        return missing;
+    }
+}
@@ -0,0 +1,246 @@
+package org.acme.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.SnapshotStatus;
+import org.acme.services.CacheService;
+import org.acme.services.ClientExportService;
+import org.acme.services.SnapshotService;
+import org.acme.utils.SnapshotFile;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Clase que mantiene una copia local de todos los clientes en un archivo
+ * mapeado en memoria.
+ *
+ * El snapshot se regenera periódicamente desde la BD (con la misma lectura
+ * por páginas de la exportación) y se usa como última fuente de lectura
+ * cuando RH DataGrid y PostgreSQL no responden. Al iniciar, si existe un
+ * snapshot previo, se mapea de inmediato y se usa para precargar el near
+ * cache, de modo que el arranque en frío no depende del grid.
+ *
+ * El archivo no guarda la tarjeta de crédito, por lo que las respuestas
+ * servidas desde el snapshot no la incluyen. Un snapshot con el formato
+ * anterior se descarta al iniciar y se reemplaza en la primera regeneración.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+@ApplicationScoped
+public class SnapshotImpl implements SnapshotService {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotImpl.class);
+
+    private final Vertx vertx;
+    private final ClientExportService clientExportService;
+    private final CacheService cacheService;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration refreshInterval;
+    private final int seedNear;
+
+    private final AtomicReference<SnapshotFile> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile String error;
+
+    @Inject
+    public SnapshotImpl(Vertx vertx, ClientExportService clientExportService, CacheService cacheService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "client.snapshot.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "client.snapshot.path", defaultValue = "data/client-snapshot.bin") String path,
+            @ConfigProperty(name = "client.snapshot.refresh-interval", defaultValue = "15m") Duration refreshInterval,
+            @ConfigProperty(name = "client.snapshot.seed-near", defaultValue = "10000") int seedNear) {
+        this.vertx = vertx;
+        this.clientExportService = clientExportService;
+        this.cacheService = cacheService;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.refreshInterval = refreshInterval;
+        this.seedNear = seedNear;
+
+        Gauge.builder("client.snapshot.entries", this, snapshot -> snapshot.status().entries())
+                .register(registry);
+        Gauge.builder("client.snapshot.bytes", this, snapshot -> snapshot.status().bytes())
+                .register(registry);
+        Gauge.builder("client.snapshot.age", this, snapshot -> snapshot.status().ageSeconds())
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /*
+     * Mapea el snapshot existente, precarga el near cache y programa la
+     * regeneración periódica.
+     * @param event El evento de arranque de Quarkus.
+     *
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (Files.exists(path)) {
+            try {
+                SnapshotFile snapshot = SnapshotFile.open(path);
+                current.set(snapshot);
+                LOG.infof("Snapshot de clientes cargado: %d entradas, %d s de antigüedad",
+                        snapshot.entries(), ageSeconds(snapshot));
+                seed(snapshot);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("No fue posible cargar el snapshot de clientes " + path, e);
+            }
+        }
+        refresh();
+        if (!refreshInterval.isZero()) {
+            vertx.setPeriodic(refreshInterval.toMillis(), id -> refresh());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Busca un cliente en el snapshot vigente.
+     * @return Optional<ClientCacheEntry> La entrada marcada como leída del snapshot, o vacío.
+     * @param document El documento a buscar.
+     *
+     */
+    @Override
+    public Optional<ClientCacheEntry> find(String document) {
+        SnapshotFile snapshot = current.get();
+        if (!enabled || snapshot == null) {
+            return Optional.empty();
+        }
+        ClientCache client = snapshot.find(document);
+        return client == null
+                ? Optional.empty()
+                : Optional.of(ClientCacheEntry.fromSnapshot(client, snapshot.createdAt()));
+    }
+
+    /*
+     * Regenera el snapshot en segundo plano desde la BD. La escritura del
+     * archivo se hace en hilos worker.
+     * @return boolean false si está deshabilitado o ya hay una regeneración en curso.
+     *
+     */
+    @Override
+    public boolean refresh() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+
+        long createdAt = System.currentTimeMillis();
+        SnapshotFile.Writer writer;
+        try {
+            writer = SnapshotFile.writer(path);
+        } catch (IOException e) {
+            finish(e);
+            return true;
+        }
+
+        Context ctx = VertxContext.getOrCreateDuplicatedContext(vertx);
+        ctx.runOnContext(v -> clientExportService.exportClients()
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .onItem().invoke(client -> {
+                    try {
+                        writer.write(client);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .onItem().ignoreAsUni()
+                .subscribe().with(
+                    ignored -> {
+                        try (writer) {
+                            SnapshotFile snapshot = SnapshotFile.open(writer.publish(createdAt));
+                            current.set(snapshot);
+                            LOG.infof("Snapshot de clientes regenerado: %d entradas, %d bytes",
+                                    snapshot.entries(), snapshot.bytes());
+                            finish(null);
+                        } catch (IOException | RuntimeException e) {
+                            finish(e);
+                        }
+                    },
+                    err -> {
+                        try {
+                            writer.close();
+                        } catch (IOException e) {
+                            err.addSuppressed(e);
+                        }
+                        finish(err);
+                    }
+                ));
+        return true;
+    }
+
+    /*
+     * @return SnapshotStatus El tamaño, la antigüedad y el estado de regeneración del snapshot.
+     *
+     */
+    @Override
+    public SnapshotStatus status() {
+        SnapshotFile snapshot = current.get();
+        if (snapshot == null) {
+            return new SnapshotStatus(enabled, 0L, 0L, 0L, -1L, refreshing.get(), error);
+        }
+        return new SnapshotStatus(enabled, snapshot.entries(), snapshot.bytes(), snapshot.createdAt(),
+                ageSeconds(snapshot), refreshing.get(), error);
+    }
+
+    /*
+     * Precarga en el near cache los primeros clientes del snapshot, marcados
+     * como leídos de él: la respuesta lo indica y la primera consulta de cada
+     * uno lo recarga desde la BD.
+     * @param snapshot El snapshot recién cargado.
+     *
+     */
+    private void seed(SnapshotFile snapshot) {
+        if (seedNear <= 0) {
+            return;
+        }
+        Map<String, ClientCacheEntry> entries = new HashMap<>();
+        snapshot.forEach(seedNear, (document, client) ->
+                entries.put(document, ClientCacheEntry.fromSnapshot(client, snapshot.createdAt())));
+        cacheService.seedNear(entries);
+        LOG.infof("Near cache precargado con %d clientes del snapshot", entries.size());
+    }
+
+    private void finish(Throwable err) {
+        error = err == null ? null : err.getMessage();
+        if (err != null) {
+            LOG.error("No fue posible regenerar el snapshot de clientes", err);
+        }
+        refreshing.set(false);
+    }
+
+    private static long ageSeconds(SnapshotFile snapshot) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - snapshot.createdAt());
+    }
+}
@@ -0,0 +1,132 @@
+package org.acme.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concurrente y sin bloqueos para cadenas de texto.
+ *
+ * Responde "definitivamente no existe" o "posiblemente existe". Las
+ * inserciones usan CAS sobre un arreglo de bits, por lo que pueden hacerse
+ * desde cualquier hilo mientras otros consultan.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+        this.bits = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+    }
+
+    /*
+     * Crea un filtro dimensionado para el número de elementos y la tasa de
+     * falsos positivos esperados.
+     * @return BloomFilter El filtro vacío.
+     * @param expectedInsertions El número de elementos esperados.
+     * @param fpp La tasa de falsos positivos deseada (0 a 1).
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(1L, expectedInsertions);
+        long m = Math.max(64L, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+            if (setBit(index)) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /*
+     * @return double La fracción de bits en 1.
+     */
+    public double fillRatio() {
+        return (double) bitsSet.get() / bitSize;
+    }
+
+    /*
+     * @return double La tasa de falsos positivos estimada con el llenado actual.
+     */
+    public double expectedFpp() {
+        return Math.pow(fillRatio(), hashFunctions);
+    }
+
+    /*
+     * @return long El número aproximado de elementos insertados.
+     */
+    public long approximateElementCount() {
+        double ratio = fillRatio();
+        if (ratio >= 1.0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) bitSize / hashFunctions * Math.log1p(-ratio));
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /*
+     * FNV-1a de 64 bits sobre los caracteres, con mezcla final de SplitMix64
+     * para distribuir bien las dos mitades usadas como funciones hash.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
@@ -0,0 +1,49 @@
+package org.acme.utils;
+
+import java.util.concurrent.Executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Ejecutor que entrega los callbacks en un contexto de Vert.x.
+ *
+ * Si el callback ya llega en el contexto destino (por ejemplo, el resultado de
+ * Hibernate Reactive sobre el mismo contexto duplicado) se ejecuta en línea;
+ * solo cuando llega desde un hilo ajeno (como los de Hot Rod) se programa con
+ * runOnContext. Usado con {@code Uni.emitOn} reemplaza el patrón
+ * emitter + runOnContext, que siempre saltaba de hilo.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class ContextExecutor implements Executor {
+
+    private final Context context;
+    private final Counter inline;
+    private final Counter hops;
+
+    /*
+     * @param context El contexto destino, o null para ejecutar siempre en línea.
+     * @param inline Contador de callbacks ejecutados sin cambio de hilo.
+     * @param hops Contador de callbacks reprogramados en el contexto.
+     */
+    public ContextExecutor(Context context, Counter inline, Counter hops) {
+        this.context = context;
+        this.inline = inline;
+        this.hops = hops;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (context == null || Vertx.currentContext() == context) {
+            inline.increment();
+            command.run();
+        } else {
+            hops.increment();
+            context.runOnContext(v -> command.run());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.acme.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sketch count-min concurrente y sin bloqueos para cadenas de texto.
+ *
+ * Estima la frecuencia de cada clave con un error acotado por arriba: la
+ * estimación nunca es menor a la frecuencia real y la supera en a lo sumo
+ * {@code e / width} veces el total con probabilidad {@code 1 - e^-depth}.
+ * Los contadores se actualizan con CAS (actualización conservadora: solo se
+ * incrementan las filas con el mínimo), y {@link #decay()} los reduce a la
+ * mitad para que las estimaciones reflejen las ventanas recientes.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class CountMinSketch {
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int depth;
+    private final AtomicLong total = new AtomicLong();
+
+    /*
+     * @param width El número de contadores por fila.
+     * @param depth El número de filas (funciones hash).
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = Math.max(1, width);
+        this.depth = Math.max(1, depth);
+        this.counters = new AtomicLongArray(Math.multiplyExact(this.width, this.depth));
+    }
+
+    /*
+     * Registra una ocurrencia de la clave.
+     * @return long La frecuencia estimada de la clave tras registrarla.
+     * @param value La clave observada.
+     */
+    public long add(String value) {
+        total.incrementAndGet();
+        int[] indexes = indexes(value);
+        long min = Long.MAX_VALUE;
+        for (int index : indexes) {
+            min = Math.min(min, counters.get(index));
+        }
+        long target = min + 1;
+        for (int index : indexes) {
+            long current;
+            do {
+                current = counters.get(index);
+            } while (current < target && !counters.compareAndSet(index, current, target));
+        }
+        return target;
+    }
+
+    /*
+     * @return long La frecuencia estimada de la clave.
+     * @param value La clave a estimar.
+     */
+    public long estimate(String value) {
+        long min = Long.MAX_VALUE;
+        for (int index : indexes(value)) {
+            min = Math.min(min, counters.get(index));
+        }
+        return min;
+    }
+
+    /*
+     * Reduce a la mitad todos los contadores y el total. Cada contador se
+     * reduce con CAS, sin detener las actualizaciones concurrentes.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long current;
+            do {
+                current = counters.get(i);
+            } while (current != 0 && !counters.compareAndSet(i, current, current >>> 1));
+        }
+        long current;
+        do {
+            current = total.get();
+        } while (!total.compareAndSet(current, current >>> 1));
+    }
+
+    /*
+     * @return long El total de ocurrencias registradas (con el mismo decaimiento).
+     */
+    public long total() {
+        return total.get();
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /*
+     * @return double El error máximo esperado de una estimación, como fracción del total.
+     */
+    public double relativeError() {
+        return Math.E / width;
+    }
+
+    private int[] indexes(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int[] indexes = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            indexes[i] = i * width + (int) (Integer.toUnsignedLong(h1 + (i + 1) * h2) % width);
+        }
+        return indexes;
+    }
+
+    /*
+     * FNV-1a de 64 bits sobre los caracteres, con mezcla final de SplitMix64
+     * para distribuir bien las dos mitades usadas como funciones hash.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
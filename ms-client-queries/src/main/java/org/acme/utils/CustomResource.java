@@ -30,6 +30,22 @@ public abstract class CustomResource {
      *         encabezado especificados.
      */
     private <T> Response buildResponse(T object, int code, String message) {
+        return Response.status(code)
+                .entity(buildBody(object, code, message))
+                .build();
+    }
+
+    /**
+     * Construye el cuerpo estandarizado de una respuesta HTTP, sin envolverlo
+     * en un {@link Response}.
+     *
+     * @param <T>     El tipo de objeto a incluir en el cuerpo de la respuesta.
+     * @param object  El objeto a incluir en el cuerpo de la respuesta.
+     * @param code    El código de estado HTTP de la respuesta.
+     * @param message El mensaje de la respuesta.
+     * @return Una instancia de {@link ResponseBody} con el encabezado y el cuerpo.
+     */
+    protected <T> ResponseBody<T> buildBody(T object, int code, String message) {
         var header = new CustomHeader();
         header.setResponseCode(code);
         header.setResponseMessage(message);
@@ -38,9 +54,7 @@ public abstract class CustomResource {
         responseBody.setHeader(header);
         responseBody.setBody(object);
 
-        return Response.status(code)
-                .entity(responseBody)
-                .build();
+        return responseBody;
     }
     
     /**
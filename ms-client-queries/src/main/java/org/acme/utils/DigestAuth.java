@@ -0,0 +1,114 @@
+package org.acme.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Respuesta a un desafío HTTP Digest (RFC 7616) con MD5 o SHA-256.
+ *
+ * Permite autenticarse contra la API REST de RH DataGrid sin enviar la
+ * contraseña en claro cuando la conexión no usa TLS. Solo implementa lo que
+ * el servidor ofrece por defecto: qop "auth" (o sin qop) y sin sesión.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class DigestAuth {
+
+    private static final String SCHEME = "Digest";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Pattern PARAM = Pattern.compile("(\\w+)\\s*=\\s*(?:\"([^\"]*)\"|([^,\\s]*))");
+
+    private DigestAuth() {
+    }
+
+    /*
+     * @return boolean true si el encabezado WWW-Authenticate es un desafío Digest.
+     * @param challenge El valor del encabezado.
+     */
+    public static boolean isDigest(String challenge) {
+        return challenge.regionMatches(true, 0, SCHEME, 0, SCHEME.length());
+    }
+
+    /*
+     * Calcula el encabezado Authorization para el desafío recibido.
+     * @return String El valor del encabezado Authorization.
+     * @param challenge El desafío Digest del encabezado WWW-Authenticate.
+     * @param method El método HTTP de la solicitud.
+     * @param uri La ruta de la solicitud, con su query.
+     * @param username El usuario.
+     * @param password La contraseña.
+     */
+    public static String authorization(String challenge, String method, String uri, String username,
+            String password) {
+        Map<String, String> params = parse(challenge.substring(SCHEME.length()));
+        String realm = params.getOrDefault("realm", "");
+        String nonce = params.getOrDefault("nonce", "");
+        String algorithm = params.getOrDefault("algorithm", "MD5");
+        String digest = switch (algorithm.toUpperCase()) {
+            case "MD5" -> "MD5";
+            case "SHA-256" -> "SHA-256";
+            default -> throw new IllegalArgumentException("Algoritmo Digest no soportado: " + algorithm);
+        };
+        boolean qopAuth = params.containsKey("qop")
+                && Arrays.stream(params.get("qop").split(",")).map(String::trim).anyMatch("auth"::equals);
+
+        String ha1 = hash(digest, username + ":" + realm + ":" + password);
+        String ha2 = hash(digest, method + ":" + uri);
+        StringBuilder header = new StringBuilder(SCHEME)
+                .append(" username=\"").append(username)
+                .append("\", realm=\"").append(realm)
+                .append("\", nonce=\"").append(nonce)
+                .append("\", uri=\"").append(uri)
+                .append("\", algorithm=").append(algorithm);
+        if (qopAuth) {
+            String nc = "00000001";
+            String cnonce = HexFormat.of().formatHex(randomBytes());
+            header.append(", qop=auth, nc=").append(nc)
+                    .append(", cnonce=\"").append(cnonce)
+                    .append("\", response=\"")
+                    .append(hash(digest, ha1 + ":" + nonce + ":" + nc + ":" + cnonce + ":auth:" + ha2))
+                    .append('"');
+        } else {
+            header.append(", response=\"").append(hash(digest, ha1 + ":" + nonce + ":" + ha2)).append('"');
+        }
+        if (params.containsKey("opaque")) {
+            header.append(", opaque=\"").append(params.get("opaque")).append('"');
+        }
+        return header.toString();
+    }
+
+    private static Map<String, String> parse(String params) {
+        Map<String, String> values = new HashMap<>();
+        Matcher matcher = PARAM.matcher(params);
+        while (matcher.find()) {
+            values.put(matcher.group(1).toLowerCase(),
+                    matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+        }
+        return values;
+    }
+
+    private static String hash(String algorithm, String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(algorithm);
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,111 @@
+package org.acme.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Política adaptativa de lecturas cubiertas (hedged reads).
+ *
+ * Mantiene una muestra circular de las latencias recientes de la caché y
+ * calcula periódicamente el percentil configurado, que se usa como espera
+ * antes de lanzar la lectura alternativa. La tasa de lecturas cubiertas se
+ * limita a una fracción de las consultas de la última ventana de un segundo.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class HedgePolicy {
+
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double maxRate;
+
+    private volatile long delayNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowRequests = new AtomicLong();
+    private final AtomicLong windowHedges = new AtomicLong();
+
+    /*
+     * @param percentile El percentil de latencia usado como espera (0 a 1).
+     * @param minDelayNanos La espera mínima antes de cubrir una lectura.
+     * @param maxRate La fracción máxima de consultas que pueden cubrirse.
+     */
+    public HedgePolicy(double percentile, long minDelayNanos, double maxRate) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.maxRate = maxRate;
+        this.delayNanos = minDelayNanos;
+    }
+
+    /*
+     * Registra la latencia de una lectura a la caché.
+     * @param nanos La latencia observada en nanosegundos.
+     */
+    public void recordLatency(long nanos) {
+        long count = recorded.incrementAndGet();
+        latencies.set((int) ((count - 1) % SAMPLES), nanos);
+        if (count % RECOMPUTE_EVERY == 0) {
+            recompute(Math.min(count, SAMPLES));
+        }
+    }
+
+    /*
+     * @return long La espera actual antes de cubrir una lectura, en nanosegundos.
+     */
+    public long delayNanos() {
+        return delayNanos;
+    }
+
+    /*
+     * Registra una consulta dentro de la ventana actual.
+     */
+    public void onRequest() {
+        rollWindow();
+        windowRequests.incrementAndGet();
+    }
+
+    /*
+     * Intenta obtener permiso para lanzar una lectura cubierta.
+     * @return boolean true si no se supera la tasa máxima en la ventana actual.
+     */
+    public boolean tryAcquire() {
+        rollWindow();
+        long allowed = (long) Math.ceil(windowRequests.get() * maxRate);
+        long hedges;
+        do {
+            hedges = windowHedges.get();
+            if (hedges >= allowed) {
+                return false;
+            }
+        } while (!windowHedges.compareAndSet(hedges, hedges + 1));
+        return true;
+    }
+
+    private void rollWindow() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowRequests.set(0);
+            windowHedges.set(0);
+        }
+    }
+
+    private void recompute(long size) {
+        long[] snapshot = new long[(int) size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = latencies.get(i);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+        delayNanos = Math.max(minDelayNanos, snapshot[Math.max(0, index)]);
+    }
+}
@@ -0,0 +1,276 @@
+package org.acme.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+import org.acme.model.ClientCache;
+
+/**
+ * Archivo de snapshot de clientes, leído con un mapeo en memoria.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabecera (32 bytes): magic, versión, entradas, tamaño de la tabla, creación (ms), offset del índice
+ * datos: por cliente, la versión (long) y 6 cadenas UTF-8 (int longitud, -1 si es null, y bytes)
+ * índice: tabla hash de direccionamiento abierto, por ranura el hash (int) y el offset del registro (long)
+ * </pre>
+ * El índice vive en el mismo archivo mapeado, fuera del heap; una búsqueda
+ * por documento lee solo la ranura y el registro correspondientes. El archivo
+ * se escribe en uno temporal y se renombra de forma atómica al terminar.
+ * Un mapeo admite como máximo 2 GB.
+ *
+ * La tarjeta de crédito no se escribe en el archivo: los clientes leídos del
+ * snapshot la tienen en null.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x43534E50;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int entries;
+    private final int tableSize;
+    private final long createdAt;
+    private final long indexOffset;
+    private final long bytes;
+
+    private SnapshotFile(ByteBuffer buffer, long bytes) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("El archivo no es un snapshot de clientes válido");
+        }
+        this.buffer = buffer;
+        this.bytes = bytes;
+        this.entries = buffer.getInt(8);
+        this.tableSize = buffer.getInt(12);
+        this.createdAt = buffer.getLong(16);
+        this.indexOffset = buffer.getLong(24);
+    }
+
+    /*
+     * Mapea en memoria un snapshot existente.
+     * @return SnapshotFile El snapshot listo para consultas.
+     * @param path La ruta del archivo.
+     */
+    public static SnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("El snapshot supera el tamaño máximo de un mapeo (2 GB)");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new SnapshotFile(mapped, size);
+        }
+    }
+
+    public int entries() {
+        return entries;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    /*
+     * Busca un cliente por documento.
+     * @return ClientCache El cliente, o null si no está en el snapshot.
+     * @param document El documento a buscar.
+     */
+    public ClientCache find(String document) {
+        int hash = hash(document);
+        int mask = tableSize - 1;
+        for (int i = 0; i < tableSize; i++) {
+            int slot = (hash + i) & mask;
+            int position = (int) (indexOffset + (long) slot * SLOT_BYTES);
+            long offset = buffer.getLong(position + 4);
+            if (offset == 0L) {
+                return null;
+            }
+            if (buffer.getInt(position) == hash) {
+                int[] cursor = { (int) offset + 8 };
+                if (document.equals(readString(cursor))) {
+                    return read((int) offset);
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Recorre los clientes del snapshot en el orden en que fueron escritos.
+     * @param limit El máximo de clientes a recorrer.
+     * @param consumer Recibe el documento y el cliente.
+     */
+    public void forEach(int limit, BiConsumer<String, ClientCache> consumer) {
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < Math.min(limit, entries); i++) {
+            int[] cursor = { offset };
+            ClientCache client = read(cursor);
+            consumer.accept(client.document, client);
+            offset = cursor[0];
+        }
+    }
+
+    private ClientCache read(int offset) {
+        return read(new int[] { offset });
+    }
+
+    private ClientCache read(int[] cursor) {
+        long version = buffer.getLong(cursor[0]);
+        cursor[0] += 8;
+        return new ClientCache(readString(cursor), readString(cursor), readString(cursor), readString(cursor),
+                readString(cursor), readString(cursor), null, version);
+    }
+
+    private String readString(int[] cursor) {
+        int length = buffer.getInt(cursor[0]);
+        cursor[0] += 4;
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(cursor[0], value);
+        cursor[0] += length;
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int hash(String document) {
+        int h = document.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * Crea un escritor de snapshot sobre un archivo temporal junto al destino.
+     * @return Writer El escritor abierto.
+     * @param target La ruta final del snapshot.
+     */
+    public static Writer writer(Path target) throws IOException {
+        return new Writer(target);
+    }
+
+    /**
+     * Escritor secuencial del snapshot. Los registros se escriben a medida que
+     * llegan; el índice se construye al final con los hashes y offsets.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final DataOutputStream out;
+        private long position = HEADER_BYTES;
+        private int count;
+        private int[] hashes = new int[1024];
+        private long[] offsets = new long[1024];
+
+        private Writer(Path target) throws IOException {
+            Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.target = target;
+            this.temp = Files.createTempFile(parent, "client-snapshot", ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+            out.write(new byte[HEADER_BYTES]);
+        }
+
+        public void write(ClientCache client) throws IOException {
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            hashes[count] = hash(client.document);
+            offsets[count] = position;
+            count++;
+
+            out.writeLong(client.version);
+            position += 8;
+            for (String value : new String[] { client.document, client.documentType, client.name,
+                    client.phone, client.email, client.address }) {
+                writeString(value);
+            }
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("El snapshot supera el tamaño máximo de un mapeo (2 GB)");
+            }
+        }
+
+        /*
+         * Escribe el índice y la cabecera y reemplaza el snapshot anterior.
+         * @return Path La ruta del snapshot publicado.
+         * @param createdAt El momento de creación, en milisegundos epoch.
+         */
+        public Path publish(long createdAt) throws IOException {
+            int tableSize = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+            int mask = tableSize - 1;
+            int[] slotHashes = new int[tableSize];
+            long[] slotOffsets = new long[tableSize];
+            for (int i = 0; i < count; i++) {
+                int slot = hashes[i] & mask;
+                while (slotOffsets[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                slotHashes[slot] = hashes[i];
+                slotOffsets[slot] = offsets[i];
+            }
+
+            long indexOffset = position;
+            for (int slot = 0; slot < tableSize; slot++) {
+                out.writeInt(slotHashes[slot]);
+                out.writeLong(slotOffsets[slot]);
+            }
+            out.close();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(count)
+                    .putInt(tableSize)
+                    .putLong(createdAt)
+                    .putLong(indexOffset)
+                    .flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                position += 4;
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            position += 4 + bytes.length;
+        }
+    }
+}
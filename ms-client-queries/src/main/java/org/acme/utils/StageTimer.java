@@ -0,0 +1,70 @@
+package org.acme.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Temporizador de una etapa del pipeline de consulta, etiquetado por resultado.
+ *
+ * Registra un Timer con histograma de percentiles por cada combinación de
+ * etapa y resultado (por ejemplo {@code stage=cache.get, outcome=hit}); los
+ * Timer se crean una sola vez y se reutilizan en las siguientes mediciones.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class StageTimer {
+
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String stage;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /*
+     * @param registry El registro de métricas.
+     * @param name El nombre de la métrica.
+     * @param stage La etapa medida, usada como etiqueta.
+     */
+    public StageTimer(MeterRegistry registry, String name, String stage) {
+        this.registry = registry;
+        this.name = name;
+        this.stage = stage;
+    }
+
+    /*
+     * Mide la operación desde su suscripción hasta su resultado.
+     * @return Uni<T> La misma operación, medida.
+     * @param source La operación a medir.
+     * @param outcome Calcula la etiqueta de resultado a partir del valor emitido.
+     */
+    public <T> Uni<T> time(Uni<T> source, Function<T, String> outcome) {
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return source.onItemOrFailure().invoke((item, err) ->
+                    record(err != null ? OUTCOME_ERROR : outcome.apply(item), System.nanoTime() - start));
+        });
+    }
+
+    /*
+     * Registra una medición ya tomada.
+     * @param outcome La etiqueta de resultado.
+     * @param nanos La duración en nanosegundos.
+     */
+    public void record(String outcome, long nanos) {
+        timers.computeIfAbsent(outcome, key -> Timer.builder(name)
+                .tag("stage", stage)
+                .tag("outcome", key)
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,74 @@
+package org.acme.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Política de expiración temprana probabilística (XFetch).
+ *
+ * Cada lectura decide si recargar la entrada antes de que expire con
+ * probabilidad creciente a medida que se acerca la expiración: se recarga si
+ * {@code now - delta * beta * ln(rand) >= expiry}, donde delta es el costo
+ * observado de una recarga. Así, en una clave caliente una sola lectura
+ * (en promedio) se adelanta a la expiración y las demás siguen leyendo la
+ * entrada vigente, en lugar de fallar todas al mismo tiempo.
+ *
+ * El costo de la recarga es un promedio móvil exponencial de las cargas
+ * desde la BD, común a todos los documentos.
+ *
+ * @author Felipe Malaver
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class XFetchPolicy {
+
+    /* Peso de la última muestra en el promedio móvil del costo de recarga. */
+    private static final double ALPHA = 0.1;
+
+    private final double beta;
+    private final AtomicLong deltaNanos;
+
+    /*
+     * @param beta Factor de adelanto; mayor a 1 recarga antes, menor a 1 más tarde.
+     * @param initialDeltaNanos El costo de recarga supuesto antes de la primera muestra.
+     */
+    public XFetchPolicy(double beta, long initialDeltaNanos) {
+        this.beta = beta;
+        this.deltaNanos = new AtomicLong(initialDeltaNanos);
+    }
+
+    /*
+     * Registra el costo de una recarga desde la BD.
+     * @param nanos La duración observada en nanosegundos.
+     */
+    public void recordRecompute(long nanos) {
+        long current;
+        long next;
+        do {
+            current = deltaNanos.get();
+            next = (long) (current + ALPHA * (nanos - current));
+        } while (!deltaNanos.compareAndSet(current, next));
+    }
+
+    /*
+     * @return long El costo de recarga estimado, en nanosegundos.
+     */
+    public long deltaNanos() {
+        return deltaNanos.get();
+    }
+
+    /*
+     * Decide si la lectura actual debe recargar la entrada anticipadamente.
+     * @return boolean true si la entrada debe recargarse en segundo plano.
+     * @param expiresAt El momento de expiración de la entrada en milisegundos epoch.
+     * @param now El momento actual en milisegundos epoch.
+     */
+    public boolean shouldRefresh(long expiresAt, long now) {
+        if (expiresAt == Long.MAX_VALUE) {
+            return false;
+        }
+        double deltaMillis = deltaNanos.get() / 1_000_000.0;
+        double rand = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - deltaMillis * beta * Math.log(rand) >= expiresAt;
+    }
+}
@@ -0,0 +1,7 @@
+-- Migración de la búsqueda aproximada por nombre (GET /clients/search).
+-- Requiere un usuario con permisos de superusuario o dueño de la BD para
+-- instalar la extensión; ejecutarla una vez por base de datos, fuera del
+-- servicio. client.search.install-index=true la ejecuta al iniciar solo en
+-- entornos donde la cuenta del servicio tiene esos permisos (dev).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS client_name_trgm_idx ON client USING gin (name gin_trgm_ops);
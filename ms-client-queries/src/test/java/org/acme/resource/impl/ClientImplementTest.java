@@ -0,0 +1,181 @@
+package org.acme.resource.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.model.ClientLookup;
+import org.acme.model.ClientUpdateRequest;
+import org.acme.model.HotKeyReport;
+import org.acme.services.ClientService;
+import org.acme.services.HotKeyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.Response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Interpretación de If-None-Match en la consulta por documento: etiquetas
+ * débiles y fuertes, listas, "*" y la respuesta 304 sin cuerpo.
+ */
+class ClientImplementTest {
+
+    private static final String DOCUMENT = "1001";
+    private static final String ETAG = "3f2a9c1b7d4e6f80";
+
+    private ClientCacheEntry entry;
+    private ClientImplement resource;
+
+    @BeforeEach
+    void setUp() {
+        entry = ClientCacheEntry.of(new ClientCache(DOCUMENT, "CC", "Ana", "3000000000", "ana@acme.org",
+                "Calle 1", null, 1L));
+        resource = new ClientImplement(new FixedClientService(Map.of(DOCUMENT, entry)), null, null,
+                new NoHotKeys(), new ObjectMapper(), new SimpleMeterRegistry(), 500, false, "remote", false,
+                3, 100, 1000);
+    }
+
+    @Test
+    void strongTagMatches() {
+        assertTrue(ClientImplement.matches("\"" + ETAG + "\"", ETAG));
+    }
+
+    @Test
+    void weakTagMatchesWithWeakComparison() {
+        assertTrue(ClientImplement.matches("W/\"" + ETAG + "\"", ETAG));
+    }
+
+    @Test
+    void anyTagInListMatches() {
+        assertTrue(ClientImplement.matches("\"otro\", W/\"" + ETAG + "\" ,\"tercero\"", ETAG));
+        assertTrue(ClientImplement.matches("\"otro\",\"" + ETAG + "\"", ETAG));
+    }
+
+    @Test
+    void listWithoutCurrentTagDoesNotMatch() {
+        assertFalse(ClientImplement.matches("\"otro\", W/\"tercero\"", ETAG));
+        assertFalse(ClientImplement.matches("\"" + ETAG + "0\"", ETAG));
+    }
+
+    @Test
+    void wildcardMatchesAnyTag() {
+        assertTrue(ClientImplement.matches("*", ETAG));
+        assertTrue(ClientImplement.matches("\"otro\", *", ETAG));
+    }
+
+    @Test
+    void missingOrMalformedHeaderDoesNotMatch() {
+        assertFalse(ClientImplement.matches(null, ETAG));
+        assertFalse(ClientImplement.matches("", ETAG));
+        assertFalse(ClientImplement.matches("  ", ETAG));
+        assertFalse(ClientImplement.matches("\"", ETAG));
+        assertFalse(ClientImplement.matches("W/", ETAG));
+    }
+
+    @Test
+    void matchingTagReturnsNotModifiedWithoutBody() {
+        Response response = get("W/\"" + entry.getETag() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertEquals(entry.getETag(), response.getEntityTag().getValue());
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    void wildcardReturnsNotModifiedForExistingClient() {
+        assertEquals(304, get("*").getStatus());
+    }
+
+    @Test
+    void staleTagReturnsClientWithCurrentTag() {
+        Response response = get("\"otro\"");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(entry.getETag(), response.getEntityTag().getValue());
+        assertNotNull(response.getEntity());
+    }
+
+    @Test
+    void withoutHeaderReturnsClient() {
+        assertEquals(200, get(null).getStatus());
+    }
+
+    @Test
+    void wildcardDoesNotApplyToMissingClient() {
+        Response response = resource.getClientByDocument("9999", "*").await().indefinitely();
+
+        assertEquals(404, response.getStatus());
+    }
+
+    private Response get(String ifNoneMatch) {
+        return resource.getClientByDocument(DOCUMENT, ifNoneMatch).await().indefinitely();
+    }
+
+    private static final class FixedClientService implements ClientService {
+
+        private final Map<String, ClientCacheEntry> entries;
+
+        FixedClientService(Map<String, ClientCacheEntry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Uni<Optional<ClientCache>> getClient(String document) {
+            return getClientEntry(document).map(found -> found.map(ClientCacheEntry::getValue));
+        }
+
+        @Override
+        public Uni<Optional<ClientCacheEntry>> getClientEntry(String document) {
+            return Uni.createFrom().item(Optional.ofNullable(entries.get(document)));
+        }
+
+        @Override
+        public Uni<List<ClientLookup>> getClients(List<String> documents) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientCache>> getClientByEmail(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientCache>> getClientByPhone(String phone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Uni<Optional<ClientCache>> updateClient(String document, ClientUpdateRequest request) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class NoHotKeys implements HotKeyService {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void record(String document) {
+        }
+
+        @Override
+        public HotKeyReport report(int limit) {
+            return new HotKeyReport(false, 0L, 0L, 0L, List.of());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.acme.model.HotKey;
+import org.acme.model.HotKeyReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Registro, poda del top-K y decaimiento por ventana de los documentos más
+ * consultados. El decaimiento se invoca directamente, sin el temporizador.
+ */
+class HotKeyImplTest {
+
+    private static final int TOP_K = 3;
+
+    private HotKeyImpl hotKeys;
+
+    @BeforeEach
+    void setUp() {
+        hotKeys = hotKeys(true);
+    }
+
+    @Test
+    void reportsTopDocumentsInDescendingOrder() {
+        record("1001", 5);
+        record("1002", 9);
+        record("1003", 7);
+
+        HotKeyReport report = hotKeys.report(10);
+        assertEquals(21L, report.lookups());
+        assertEquals(List.of("1002", "1003", "1001"), documents(report));
+        assertEquals(9L, report.keys().get(0).estimate());
+        assertEquals(9.0 / 21, report.keys().get(0).share(), 1e-9);
+        assertEquals(List.of("1002"), documents(hotKeys.report(1)));
+    }
+
+    @Test
+    void pruningKeepsTopKAmongManyColdDocuments() {
+        record("1001", 50);
+        record("1002", 40);
+        record("1003", 30);
+        for (int i = 0; i < 500; i++) {
+            hotKeys.record(String.valueOf(2000 + i));
+        }
+
+        assertEquals(List.of("1001", "1002", "1003"), documents(hotKeys.report(10)));
+    }
+
+    @Test
+    void documentThatBecomesHotEntersTopAfterPruning() {
+        record("1001", 10);
+        record("1002", 10);
+        record("1003", 10);
+        for (int i = 0; i < 10; i++) {
+            hotKeys.record(String.valueOf(2000 + i));
+        }
+
+        record("1004", 20);
+
+        assertEquals("1004", documents(hotKeys.report(10)).get(0));
+    }
+
+    @Test
+    void decayHalvesEstimatesAndLookups() {
+        record("1001", 8);
+        record("1002", 5);
+
+        hotKeys.decay();
+
+        HotKeyReport report = hotKeys.report(10);
+        assertEquals(6L, report.lookups());
+        assertEquals(4L, report.keys().get(0).estimate());
+        assertEquals(2L, report.keys().get(1).estimate());
+    }
+
+    @Test
+    void decayDropsDocumentsThatReachZero() {
+        record("1001", 4);
+        hotKeys.record("1002");
+
+        hotKeys.decay();
+
+        assertEquals(List.of("1001"), documents(hotKeys.report(10)));
+    }
+
+    @Test
+    void documentNoLongerQueriedLeavesTopAfterFewWindows() {
+        hotKeys = new HotKeyImpl(null, new SimpleMeterRegistry(), true, 2048, 4, 1, Duration.ofSeconds(60));
+        record("1001", 32);
+
+        hotKeys.decay();
+        hotKeys.decay();
+        hotKeys.decay();
+        record("1002", 6);
+
+        assertEquals(List.of("1002"), documents(hotKeys.report(10)));
+    }
+
+    @Test
+    void disabledServiceRecordsNothing() {
+        hotKeys = hotKeys(false);
+        record("1001", 10);
+
+        HotKeyReport report = hotKeys.report(10);
+        assertFalse(report.enabled());
+        assertEquals(0L, report.lookups());
+        assertTrue(report.keys().isEmpty());
+    }
+
+    private void record(String document, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeys.record(document);
+        }
+    }
+
+    private static HotKeyImpl hotKeys(boolean enabled) {
+        return new HotKeyImpl(null, new SimpleMeterRegistry(), enabled, 2048, 4, TOP_K, Duration.ofSeconds(60));
+    }
+
+    private static List<String> documents(HotKeyReport report) {
+        return report.keys().stream().map(HotKey::document).toList();
+    }
+}
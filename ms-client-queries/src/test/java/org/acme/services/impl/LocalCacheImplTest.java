@@ -0,0 +1,186 @@
+package org.acme.services.impl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import org.acme.model.ClientCache;
+import org.acme.model.ClientCacheEntry;
+import org.acme.services.DocumentFilterService;
+import org.acme.services.NegativeCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Escrituras concurrentes sobre la caché local: un llenado tras un fallo o
+ * una recarga con una versión leída antes de una actualización nunca pisa
+ * la versión más reciente. Las entradas precargadas del snapshot nunca
+ * ganan frente a un valor leído de la BD.
+ */
+class LocalCacheImplTest {
+
+    private static final String DOCUMENT = "1001";
+
+    private LocalCacheImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LocalCacheImpl(new NoNegativeCache(), new NoDocumentFilter(), new SimpleMeterRegistry(),
+                1000L, Duration.ofHours(1), Duration.ZERO);
+    }
+
+    @Test
+    void staleFillAfterVersionedReplaceKeepsNewerVersion() {
+        ClientCache readByFiller = client(1L, "Antes");
+        ClientCache written = client(2L, "Después");
+
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, written)));
+        assertFalse(await(cache.putIfAbsentAsyncData(DOCUMENT, readByFiller)));
+
+        assertEquals(2L, await(cache.getAsyncData(DOCUMENT)).version);
+        assertEquals("Después", await(cache.getAsyncData(DOCUMENT)).name);
+    }
+
+    @Test
+    void versionedReplaceAfterFillWins() {
+        assertTrue(await(cache.putIfAbsentAsyncData(DOCUMENT, client(1L, "Antes"))));
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, client(2L, "Después"))));
+
+        assertEquals(2L, await(cache.getAsyncData(DOCUMENT)).version);
+    }
+
+    @Test
+    void staleReloadDoesNotReplaceNewerVersion() {
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, client(2L, "Después"))));
+        assertFalse(await(cache.replaceIfNewer(DOCUMENT, client(1L, "Antes"))));
+
+        assertEquals(2L, await(cache.getAsyncData(DOCUMENT)).version);
+    }
+
+    @Test
+    void reloadWithSameVersionRenewsEntry() {
+        assertTrue(await(cache.putIfAbsentAsyncData(DOCUMENT, client(2L, "Igual"))));
+        ClientCache reloaded = client(2L, "Igual");
+
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, reloaded)));
+        assertSame(reloaded, await(cache.getAsyncData(DOCUMENT)));
+    }
+
+    @Test
+    void staleBatchFillKeepsNewerVersion() {
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, client(2L, "Después"))));
+        await(cache.putAllIfAbsentAsyncData(Map.of(DOCUMENT, client(1L, "Antes"), "1002", client(1L, "Otro"))));
+
+        assertEquals(2L, await(cache.getAsyncData(DOCUMENT)).version);
+        assertEquals(1L, await(cache.getAsyncData("1002")).version);
+    }
+
+    @Test
+    void seedDoesNotReplaceExistingEntry() {
+        assertTrue(await(cache.putIfAbsentAsyncData(DOCUMENT, client(2L, "Actual"))));
+        cache.seedNear(Map.of(DOCUMENT, ClientCacheEntry.fromSnapshot(client(1L, "Snapshot"), 0L)));
+
+        assertFalse(await(cache.getAsyncEntry(DOCUMENT)).isFromSnapshot());
+        assertEquals(2L, await(cache.getAsyncData(DOCUMENT)).version);
+    }
+
+    @Test
+    void seededEntryIsMarkedAndReplacedByFill() {
+        cache.seedNear(Map.of(DOCUMENT, ClientCacheEntry.fromSnapshot(client(3L, "Snapshot"), 0L)));
+        assertTrue(await(cache.getAsyncEntry(DOCUMENT)).isFromSnapshot());
+        assertTrue(await(cache.getAllAsyncData(Set.of(DOCUMENT))).isEmpty());
+
+        assertTrue(await(cache.putIfAbsentAsyncData(DOCUMENT, client(1L, "BD"))));
+        ClientCacheEntry entry = await(cache.getAsyncEntry(DOCUMENT));
+        assertFalse(entry.isFromSnapshot());
+        assertEquals("BD", entry.getValue().name);
+    }
+
+    @Test
+    void reloadReplacesSeededEntryWithHigherVersion() {
+        cache.seedNear(Map.of(DOCUMENT, ClientCacheEntry.fromSnapshot(client(3L, "Snapshot"), 0L)));
+
+        assertTrue(await(cache.replaceIfNewer(DOCUMENT, client(1L, "BD"))));
+        assertEquals("BD", await(cache.getAsyncData(DOCUMENT)).name);
+    }
+
+    private static ClientCache client(long version, String name) {
+        return new ClientCache(DOCUMENT, "CC", name, "3000000000", "cliente@acme.org", "Calle 1", null, version);
+    }
+
+    private static <T> T await(Uni<T> uni) {
+        return uni.await().indefinitely();
+    }
+
+    private static final class NoNegativeCache implements NegativeCacheService {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public Uni<Boolean> isMissing(String document) {
+            return Uni.createFrom().item(false);
+        }
+
+        @Override
+        public Uni<Set<String>> findMissing(Set<String> documents) {
+            return Uni.createFrom().item(Set.of());
+        }
+
+        @Override
+        public Uni<Void> markMissing(String document) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public Uni<Void> markAllMissing(Set<String> documents) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public Uni<Void> invalidate(String document) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public Uni<Void> invalidateAll() {
+            return Uni.createFrom().voidItem();
+        }
+    }
+
+    private static final class NoDocumentFilter implements DocumentFilterService {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean mightExist(String document) {
+            return true;
+        }
+
+        @Override
+        public void add(String document) {
+        }
+
+        @Override
+        public boolean rebuild() {
+            return false;
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+}
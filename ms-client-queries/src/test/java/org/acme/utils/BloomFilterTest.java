@@ -0,0 +1,97 @@
+package org.acme.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Dimensionamiento, llenado y tasa de falsos positivos del filtro de Bloom.
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final double FPP = 0.01;
+
+    @Test
+    void sizesBitsAndHashFunctionsFromExpectedInsertions() {
+        BloomFilter filter = BloomFilter.create(1000, FPP);
+
+        // m = ceil(-n ln p / ln²2) = 9586, k = round(m / n ln 2) = 7
+        assertEquals(9586L, filter.bitSize());
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FPP);
+
+        assertEquals(0.0, filter.fillRatio());
+        assertEquals(0.0, filter.expectedFpp());
+        assertEquals(0L, filter.approximateElementCount());
+        assertFalse(filter.mightContain("1001"));
+    }
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = filled();
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(present(i)));
+        }
+    }
+
+    @Test
+    void repeatedInsertDoesNotChangeFillRatio() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FPP);
+        filter.put("1001");
+        double ratio = filter.fillRatio();
+
+        filter.put("1001");
+
+        assertEquals(ratio, filter.fillRatio());
+        assertTrue(ratio > 0.0);
+    }
+
+    @Test
+    void fillRatioAndElementCountTrackInsertions() {
+        BloomFilter filter = filled();
+
+        // Con k óptimo, un filtro lleno a su capacidad tiene cerca de la mitad de los bits en 1
+        assertEquals(0.5, filter.fillRatio(), 0.05);
+        assertEquals(INSERTIONS, filter.approximateElementCount(), INSERTIONS * 0.05);
+    }
+
+    @Test
+    void observedFalsePositiveRateMatchesEstimate() {
+        BloomFilter filter = filled();
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(absent(i))) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+
+        assertEquals(FPP, filter.expectedFpp(), FPP / 2);
+        assertTrue(observed < FPP * 2, "Tasa observada " + observed);
+    }
+
+    private static BloomFilter filled() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FPP);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(present(i));
+        }
+        return filter;
+    }
+
+    private static String present(int i) {
+        return "CC-" + (10_000_000 + i);
+    }
+
+    private static String absent(int i) {
+        return "CE-" + (90_000_000 + i);
+    }
+}
@@ -0,0 +1,147 @@
+package org.acme.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/*
+ * Compara el pipeline de una consulta con fallo en la caché (lectura a la
+ * caché, consulta a la BD y llenado) con el patrón anterior de emitter +
+ * runOnContext en cada paso y con emitOn sobre ContextExecutor.
+ *
+ * La caché responde en un hilo ajeno, como el I/O de Hot Rod, y la BD en el
+ * mismo contexto, como Hibernate Reactive. Los contadores hops e inline, por
+ * cada request, muestran los saltos al event-loop; las asignaciones por
+ * consulta se leen con el perfilador gc de JMH:
+ *
+ *   mvn -Pbenchmark test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextExecutorBenchmark {
+
+    private static final String DOCUMENT = "1001";
+
+    private Vertx vertx;
+    private Context context;
+    private ExecutorService remote;
+    private Counter inline;
+    private Counter hops;
+    private ContextExecutor executor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Dispatches {
+
+        public long requests;
+        public long hops;
+        public long inline;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            hops = 0;
+            inline = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+        remote = Executors.newSingleThreadExecutor();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        inline = registry.counter("dispatch", "mode", "inline");
+        hops = registry.counter("dispatch", "mode", "hop");
+        executor = new ContextExecutor(context, inline, hops);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        remote.shutdownNow();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public String emitterRunOnContext(Dispatches dispatches) {
+        return measure(dispatches, () -> legacyHop(cacheGet())
+                .chain(missing -> legacyHop(dbFind()))
+                .chain(client -> legacyHop(cachePut(client))));
+    }
+
+    @Benchmark
+    public String emitOnContextExecutor(Dispatches dispatches) {
+        return measure(dispatches, () -> cacheGet().emitOn(executor)
+                .chain(missing -> dbFind().emitOn(executor))
+                .chain(client -> cachePut(client).emitOn(executor)));
+    }
+
+    /*
+     * Ejecuta el pipeline en el contexto, espera su resultado y acumula los
+     * despachos que hizo.
+     */
+    private String measure(Dispatches dispatches, Supplier<Uni<String>> pipeline) {
+        double hopsBefore = hops.count();
+        double inlineBefore = inline.count();
+        CompletableFuture<String> done = new CompletableFuture<>();
+        context.runOnContext(v -> pipeline.get().subscribe().with(done::complete, done::completeExceptionally));
+        String result = done.join();
+        dispatches.requests++;
+        dispatches.hops += (long) (hops.count() - hopsBefore);
+        dispatches.inline += (long) (inline.count() - inlineBefore);
+        return result;
+    }
+
+    /*
+     * Patrón anterior de ClientImpl: siempre reenvía con runOnContext.
+     */
+    private <T> Uni<T> legacyHop(Uni<T> source) {
+        return Uni.createFrom().emitter(em -> source.subscribe().with(
+                item -> {
+                    hops.increment();
+                    context.runOnContext(v -> em.complete(item));
+                },
+                err -> {
+                    hops.increment();
+                    context.runOnContext(v -> em.fail(err));
+                }));
+    }
+
+    private Uni<String> cacheGet() {
+        return Uni.createFrom().completionStage(() -> CompletableFuture.supplyAsync(() -> (String) null, remote));
+    }
+
+    private Uni<String> dbFind() {
+        return Uni.createFrom().emitter(em -> context.runOnContext(v -> em.complete(DOCUMENT)));
+    }
+
+    private Uni<String> cachePut(String client) {
+        return Uni.createFrom().completionStage(() -> CompletableFuture.supplyAsync(() -> client, remote));
+    }
+}
@@ -0,0 +1,125 @@
+package org.acme.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Cotas de la estimación con actualización conservadora y decaimiento a la
+ * mitad del sketch count-min.
+ */
+class CountMinSketchTest {
+
+    private static final int WIDTH = 256;
+    private static final int DEPTH = 4;
+    private static final int KEYS = 2000;
+
+    @Test
+    void singleKeyIsCountedExactly() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, sketch.add("1001"));
+        }
+        assertEquals(100L, sketch.estimate("1001"));
+        assertEquals(100L, sketch.total());
+        assertEquals(0L, sketch.estimate("1002"));
+    }
+
+    @Test
+    void estimateStaysWithinConservativeUpdateBound() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        long[] counts = fill(sketch);
+
+        // Nunca subestima; supera la frecuencia real en más de e/width * total
+        // con probabilidad e^-depth por clave.
+        long maxError = (long) Math.ceil(sketch.relativeError() * sketch.total());
+        int outOfBound = 0;
+        for (int key = 0; key < KEYS; key++) {
+            long estimate = sketch.estimate(document(key));
+            assertTrue(estimate >= counts[key], "subestimó " + document(key));
+            if (estimate > counts[key] + maxError) {
+                outOfBound++;
+            }
+        }
+        assertTrue(outOfBound <= KEYS * Math.exp(-DEPTH), "fuera de la cota: " + outOfBound);
+    }
+
+    @Test
+    void heavyHittersAreEstimatedWithinBound() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        long[] counts = fill(sketch);
+
+        long maxError = (long) Math.ceil(sketch.relativeError() * sketch.total());
+        for (int key = 0; key < 10; key++) {
+            long estimate = sketch.estimate(document(key));
+            assertTrue(estimate >= counts[key] && estimate <= counts[key] + maxError,
+                    document(key) + ": " + estimate + " fuera de [" + counts[key] + ", "
+                            + (counts[key] + maxError) + "]");
+        }
+    }
+
+    @Test
+    void decayHalvesCountersAndTotal() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("1001");
+        }
+        for (int i = 0; i < 7; i++) {
+            sketch.add("1002");
+        }
+
+        sketch.decay();
+        assertEquals(5L, sketch.estimate("1001"));
+        assertEquals(3L, sketch.estimate("1002"));
+        assertEquals(8L, sketch.total());
+
+        sketch.decay();
+        sketch.decay();
+        sketch.decay();
+        assertEquals(0L, sketch.estimate("1001"));
+        assertEquals(0L, sketch.estimate("1002"));
+        assertEquals(1L, sketch.total());
+    }
+
+    @Test
+    void decayedKeyAccumulatesFromHalvedCount() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        for (int i = 0; i < 8; i++) {
+            sketch.add("1001");
+        }
+
+        sketch.decay();
+        assertEquals(5L, sketch.add("1001"));
+    }
+
+    @Test
+    void dimensionsAreAtLeastOne() {
+        CountMinSketch sketch = new CountMinSketch(0, -1);
+
+        assertEquals(1, sketch.width());
+        assertEquals(1, sketch.depth());
+        sketch.add("1001");
+        sketch.add("1002");
+        assertEquals(2L, sketch.estimate("1003"));
+    }
+
+    /*
+     * Tráfico sesgado tipo Zipf: la clave k se consulta KEYS / (k + 1) veces.
+     */
+    private static long[] fill(CountMinSketch sketch) {
+        long[] counts = new long[KEYS];
+        for (int key = 0; key < KEYS; key++) {
+            counts[key] = Math.max(1, KEYS / (key + 1));
+            for (long i = 0; i < counts[key]; i++) {
+                sketch.add(document(key));
+            }
+        }
+        return counts;
+    }
+
+    private static String document(int key) {
+        return String.valueOf(1_000_000 + key);
+    }
+}
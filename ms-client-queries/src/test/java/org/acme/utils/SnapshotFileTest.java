@@ -0,0 +1,177 @@
+package org.acme.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.acme.model.ClientCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+ * Escritura y lectura del snapshot de clientes: búsqueda por documento,
+ * recorrido en orden, campos nulos, colisiones de hash y reemplazo atómico.
+ */
+class SnapshotFileTest {
+
+    private static final long CREATED_AT = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsFieldsAndDropsCreditCard() throws IOException {
+        Path path = publish(dir.resolve("snapshot.bin"),
+                client("1001", "Ana", 3L),
+                client("1002", "Luis", 7L));
+
+        SnapshotFile snapshot = SnapshotFile.open(path);
+        assertEquals(2, snapshot.entries());
+        assertEquals(CREATED_AT, snapshot.createdAt());
+        assertEquals(Files.size(path), snapshot.bytes());
+
+        ClientCache found = snapshot.find("1002");
+        assertNotNull(found);
+        assertEquals("1002", found.document);
+        assertEquals("CC", found.documentType);
+        assertEquals("Luis", found.name);
+        assertEquals("3000000000", found.phone);
+        assertEquals("luis@acme.org", found.email);
+        assertEquals("Calle 1", found.address);
+        assertEquals(7L, found.version);
+        assertNull(found.creditCard);
+        assertFalse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)
+                .contains("4111111111111111"));
+    }
+
+    @Test
+    void findReturnsNullForUnknownDocument() throws IOException {
+        SnapshotFile snapshot = SnapshotFile.open(publish(dir.resolve("snapshot.bin"), client("1001", "Ana", 1L)));
+
+        assertNull(snapshot.find("9999"));
+    }
+
+    @Test
+    void nullFieldsSurviveRoundTrip() throws IOException {
+        ClientCache partial = new ClientCache("1001", null, "Ana", null, null, null, null, 1L);
+        SnapshotFile snapshot = SnapshotFile.open(publish(dir.resolve("snapshot.bin"), partial));
+
+        ClientCache found = snapshot.find("1001");
+        assertEquals("Ana", found.name);
+        assertNull(found.documentType);
+        assertNull(found.phone);
+        assertNull(found.email);
+        assertNull(found.address);
+    }
+
+    @Test
+    void collidingDocumentsAreResolvedByProbing() throws IOException {
+        // "Aa" y "BB" tienen el mismo hashCode, por lo que las cuatro combinaciones colisionan.
+        String[] documents = { "AaAa", "AaBB", "BBAa", "BBBB" };
+        assertEquals(documents[0].hashCode(), documents[3].hashCode());
+        ClientCache[] clients = new ClientCache[documents.length];
+        for (int i = 0; i < documents.length; i++) {
+            clients[i] = client(documents[i], "Cliente " + i, i);
+        }
+
+        SnapshotFile snapshot = SnapshotFile.open(publish(dir.resolve("snapshot.bin"), clients));
+
+        for (int i = 0; i < documents.length; i++) {
+            ClientCache found = snapshot.find(documents[i]);
+            assertEquals(documents[i], found.document);
+            assertEquals("Cliente " + i, found.name);
+        }
+        assertNull(snapshot.find("AaAaAa"));
+    }
+
+    @Test
+    void forEachVisitsClientsInWriteOrderUpToLimit() throws IOException {
+        ClientCache[] clients = new ClientCache[3000];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = client(String.valueOf(100_000 + i), "Cliente " + i, i);
+        }
+        SnapshotFile snapshot = SnapshotFile.open(publish(dir.resolve("snapshot.bin"), clients));
+
+        List<String> visited = new ArrayList<>();
+        snapshot.forEach(Integer.MAX_VALUE, (document, client) -> visited.add(document));
+        assertEquals(clients.length, visited.size());
+        for (int i = 0; i < clients.length; i++) {
+            assertEquals(clients[i].document, visited.get(i));
+            assertEquals(i, snapshot.find(clients[i].document).version);
+        }
+
+        List<String> limited = new ArrayList<>();
+        snapshot.forEach(10, (document, client) -> limited.add(document));
+        assertEquals(visited.subList(0, 10), limited);
+    }
+
+    @Test
+    void emptySnapshotHasNoEntries() throws IOException {
+        SnapshotFile snapshot = SnapshotFile.open(publish(dir.resolve("snapshot.bin")));
+
+        assertEquals(0, snapshot.entries());
+        assertNull(snapshot.find("1001"));
+        snapshot.forEach(10, (document, client) -> {
+            throw new AssertionError("No debería recorrer clientes");
+        });
+    }
+
+    @Test
+    void publishReplacesPreviousSnapshot() throws IOException {
+        Path path = dir.resolve("snapshot.bin");
+        publish(path, client("1001", "Ana", 1L));
+        publish(path, client("1002", "Luis", 2L));
+
+        SnapshotFile snapshot = SnapshotFile.open(path);
+        assertEquals(1, snapshot.entries());
+        assertNull(snapshot.find("1001"));
+        assertEquals("Luis", snapshot.find("1002").name);
+        assertEquals(List.of(path), files());
+    }
+
+    @Test
+    void closingWithoutPublishingLeavesNoFiles() throws IOException {
+        try (SnapshotFile.Writer writer = SnapshotFile.writer(dir.resolve("snapshot.bin"))) {
+            writer.write(client("1001", "Ana", 1L));
+        }
+
+        assertEquals(List.of(), files());
+    }
+
+    @Test
+    void openRejectsFilesThatAreNotSnapshots() throws IOException {
+        Path path = Files.write(dir.resolve("other.bin"), new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> SnapshotFile.open(path));
+    }
+
+    private static Path publish(Path path, ClientCache... clients) throws IOException {
+        try (SnapshotFile.Writer writer = SnapshotFile.writer(path)) {
+            for (ClientCache client : clients) {
+                writer.write(client);
+            }
+            return writer.publish(CREATED_AT);
+        }
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static ClientCache client(String document, String name, long version) {
+        return new ClientCache(document, "CC", name, "3000000000", name.toLowerCase() + "@acme.org", "Calle 1",
+                "4111111111111111", version);
+    }
+}
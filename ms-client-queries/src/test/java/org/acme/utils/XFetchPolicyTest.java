@@ -0,0 +1,85 @@
+package org.acme.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Límites de la expiración temprana: costo de recarga cero, entradas ya
+ * expiradas o sin expiración, y el efecto de beta en la probabilidad.
+ */
+class XFetchPolicyTest {
+
+    private static final long EXPIRES_AT = 1_700_000_000_000L;
+    private static final long ONE_SECOND_NANOS = 1_000_000_000L;
+    private static final int TRIALS = 20_000;
+
+    @Test
+    void zeroDeltaRefreshesOnlyAtExpiry() {
+        XFetchPolicy policy = new XFetchPolicy(1.0, 0L);
+
+        for (int i = 0; i < TRIALS; i++) {
+            assertFalse(policy.shouldRefresh(EXPIRES_AT, EXPIRES_AT - 1));
+            assertTrue(policy.shouldRefresh(EXPIRES_AT, EXPIRES_AT));
+        }
+    }
+
+    @Test
+    void expiredEntryAlwaysRefreshes() {
+        XFetchPolicy policy = new XFetchPolicy(1.0, ONE_SECOND_NANOS);
+
+        for (int i = 0; i < TRIALS; i++) {
+            assertTrue(policy.shouldRefresh(EXPIRES_AT, EXPIRES_AT + 1));
+        }
+    }
+
+    @Test
+    void entryWithoutExpiryNeverRefreshes() {
+        XFetchPolicy policy = new XFetchPolicy(10.0, ONE_SECOND_NANOS);
+
+        for (int i = 0; i < TRIALS; i++) {
+            assertFalse(policy.shouldRefresh(Long.MAX_VALUE, EXPIRES_AT));
+        }
+    }
+
+    @Test
+    void refreshRateFollowsExponentialDistribution() {
+        // P(recarga) = exp(-(expiry - now) / (delta * beta)); a un delta de la expiración es 1/e.
+        XFetchPolicy policy = new XFetchPolicy(1.0, ONE_SECOND_NANOS);
+
+        assertEquals(Math.exp(-1.0), refreshRate(policy, EXPIRES_AT - 1000), 0.02);
+    }
+
+    @Test
+    void betaAboveOneRefreshesEarlier() {
+        XFetchPolicy neutral = new XFetchPolicy(1.0, ONE_SECOND_NANOS);
+        XFetchPolicy eager = new XFetchPolicy(4.0, ONE_SECOND_NANOS);
+
+        double neutralRate = refreshRate(neutral, EXPIRES_AT - 1000);
+        double eagerRate = refreshRate(eager, EXPIRES_AT - 1000);
+        assertEquals(Math.exp(-0.25), eagerRate, 0.02);
+        assertTrue(eagerRate > neutralRate);
+    }
+
+    @Test
+    void recomputeCostIsExponentialMovingAverage() {
+        XFetchPolicy policy = new XFetchPolicy(1.0, 1000L);
+
+        policy.recordRecompute(2000L);
+        assertEquals(1100L, policy.deltaNanos());
+        policy.recordRecompute(1100L);
+        assertEquals(1100L, policy.deltaNanos());
+    }
+
+    private static double refreshRate(XFetchPolicy policy, long now) {
+        int refreshes = 0;
+        for (int i = 0; i < TRIALS; i++) {
+            if (policy.shouldRefresh(EXPIRES_AT, now)) {
+                refreshes++;
+            }
+        }
+        return (double) refreshes / TRIALS;
+    }
+}